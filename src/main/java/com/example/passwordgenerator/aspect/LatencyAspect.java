@@ -0,0 +1,133 @@
+package com.example.passwordgenerator.aspect;
+
+import com.example.passwordgenerator.metrics.LatencyHistogram;
+import com.example.passwordgenerator.metrics.LatencyRegistry;
+import com.example.passwordgenerator.metrics.PasswordMetrics;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Замеряет задержку контроллеров, сервисов паролей и тегов, репозиториев и хэширования.
+ * Гистограмма метода ищется по классу прокси и Method в кэше, имя строится только при первом вызове.
+ * Генерация по запросу и хэширование дополнительно пишутся в таймеры Micrometer (PasswordMetrics).
+ */
+@Aspect
+@Component
+public class LatencyAspect {
+
+    private final LatencyRegistry registry;
+    private final PasswordMetrics passwordMetrics;
+    private final boolean enabled;
+
+    private final ClassValue<Map<Method, LatencyHistogram>> histogramsByClass = new ClassValue<>() {
+        @Override
+        protected Map<Method, LatencyHistogram> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public LatencyAspect(LatencyRegistry registry, PasswordMetrics passwordMetrics,
+                         @Value("${metrics.latency.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.passwordMetrics = passwordMetrics;
+        this.enabled = enabled;
+    }
+
+    @Around("execution(* com.example.passwordgenerator.controller.*.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(* com.example.passwordgenerator.service.PasswordService.*(..)) || "
+            + "execution(* com.example.passwordgenerator.service.TagService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    // this(...) — прокси Spring Data реализует интерфейс репозитория, включая унаследованные save и findById
+    @Around("this(com.example.passwordgenerator.repository.PasswordRepository) || "
+            + "this(com.example.passwordgenerator.repository.TagRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    // Замер на вызове сервиса: движок вызывают и фоновые потоки пополнения резервуара, их работа
+    // не входит в задержку запроса. Гистограмму этого метода уже пишет timeService
+    @Around("execution(* com.example.passwordgenerator.service.PasswordService"
+            + ".generatePassword(int, int, String))")
+    public Object timeGeneration(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            passwordMetrics.recordGeneration((Integer) joinPoint.getArgs()[1], System.nanoTime() - start);
+        }
+    }
+
+    @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder+.encode(..)) || "
+            + "execution(* org.springframework.security.crypto.password.PasswordEncoder+.matches(..))")
+    public Object timeHashing(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            histogramFor(joinPoint, "hashing").record(elapsed);
+            if ("encode".equals(joinPoint.getSignature().getName())) {
+                passwordMetrics.recordEncode(elapsed);
+            } else {
+                Object encoded = joinPoint.getArgs()[1];
+                passwordMetrics.recordMatches(encoded instanceof String hash ? hash : null, elapsed);
+            }
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            histogramFor(joinPoint, layer).record(System.nanoTime() - start);
+        }
+    }
+
+    private LatencyHistogram histogramFor(ProceedingJoinPoint joinPoint, String layer) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, LatencyHistogram> histograms = histogramsByClass.get(proxy.getClass());
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method,
+                    key -> registry.histogram(layer + ":" + ownerName(proxy) + "." + key.getName()));
+        }
+        return histogram;
+    }
+
+    // Для прокси репозитория — имя интерфейса, для остальных — класс без суффикса CGLIB
+    private static String ownerName(Object proxy) {
+        if (AopUtils.isJdkDynamicProxy(proxy)) {
+            return AopProxyUtils.proxiedUserInterfaces(proxy)[0].getSimpleName();
+        }
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+}
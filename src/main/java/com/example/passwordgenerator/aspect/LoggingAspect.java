@@ -1,32 +1,134 @@
 package com.example.passwordgenerator.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import com.example.passwordgenerator.dto.KeysetPage;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Журнал вызовов контроллеров в формате key=value. На INFO — одна строка на вызов: метод, исход
+ * и длительность; для горячих методов (logging.aspect.hot-methods) пишется случайная выборка
+ * в 1 из sample-rate вызовов. Аргументы и результат выводятся только на DEBUG и только кратко:
+ * строки результата (сгенерированные пароли) скрываются, коллекции описываются размером,
+ * прочие объекты — именем типа, длина значения ограничена max-value-length. Ошибки пишутся всегда.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
-    @Before("execution(* com.example.passwordgenerator.controller.*.*(..))")
-    public void logBefore(JoinPoint joinPoint) {
-        logger.info("Вызван метод: " + joinPoint.getSignature().getName());
+    private final Set<String> hotMethods;
+    private final int sampleRate;
+    private final int maxValueLength;
+
+    public LoggingAspect(@Value("${logging.aspect.hot-methods:}") String hotMethods,
+                         @Value("${logging.aspect.sample-rate:100}") int sampleRate,
+                         @Value("${logging.aspect.max-value-length:64}") int maxValueLength) {
+        if (sampleRate < 1 || maxValueLength < 1) {
+            throw new IllegalArgumentException("sample-rate и max-value-length должны быть положительными");
+        }
+        this.hotMethods = Arrays.stream(hotMethods.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.sampleRate = sampleRate;
+        this.maxValueLength = maxValueLength;
+    }
+
+    @Around("execution(* com.example.passwordgenerator.controller.*.*(..))")
+    public Object log(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        boolean debug = logger.isDebugEnabled();
+        int rate = hotMethods.contains(method) ? sampleRate : 1;
+        boolean info = debug
+                || logger.isInfoEnabled() && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0);
+        if (debug) {
+            logger.debug("method={} event=call args={}", method, describeArgs(joinPoint.getArgs()));
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (debug) {
+                logger.debug("method={} outcome=ok durationMs={} result={}",
+                        method, elapsedMillis(start), describe(result, true));
+            } else if (info) {
+                logger.info("method={} outcome=ok durationMs={} sample=1/{}",
+                        method, elapsedMillis(start), rate);
+            }
+            return result;
+        } catch (Throwable error) {
+            logger.error("method={} outcome=error durationMs={} error={} message={}", method,
+                    elapsedMillis(start), error.getClass().getSimpleName(), truncate(error.getMessage()));
+            throw error;
+        }
+    }
+
+    String describeArgs(Object[] args) {
+        StringBuilder description = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(describe(args[i], false));
+        }
+        return description.append(']').toString();
+    }
+
+    // Краткое описание без toString произвольных объектов: они могут быть большими или содержать пароли
+    String describe(Object value, boolean maskStrings) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return maskStrings ? "***(" + text.length() + ")" : truncate(text.toString());
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>) {
+            return truncate(value.toString());
+        }
+        if (value instanceof ResponseEntity<?> response) {
+            return "ResponseEntity(status=" + response.getStatusCode().value()
+                    + ", body=" + describe(response.getBody(), maskStrings) + ")";
+        }
+        return describeContainer(value);
+    }
+
+    // Коллекции и страницы описываются размером, остальные объекты — именем типа
+    private static String describeContainer(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value instanceof KeysetPage<?> page) {
+            return "KeysetPage(items=" + page.getItems().size()
+                    + ", hasNext=" + (page.getNextCursor() != null) + ")";
+        }
+        return value.getClass().getSimpleName();
     }
 
-    @AfterReturning(pointcut = "execution(* com.example.passwordgenerator.controller.*.*(..))", returning = "result")
-    public void logAfterReturning(JoinPoint joinPoint, Object result) {
-        logger.info("Метод " + joinPoint.getSignature().getName() + " завершился с результатом: " + result);
+    private String truncate(String value) {
+        if (value == null || value.length() <= maxValueLength) {
+            return value;
+        }
+        return value.substring(0, maxValueLength) + "…(" + value.length() + ")";
     }
 
-    @AfterThrowing(pointcut = "execution(* com.example.passwordgenerator.controller.*.*(..))", throwing = "error")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable error) {
-        logger.error("Ошибка в методе " + joinPoint.getSignature().getName() + ": " + error.getMessage());
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.example.passwordgenerator.aspect;
 
 import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -12,21 +13,28 @@ import java.util.List;
 @Component
 public class RequestCounterAspect {
 
+    // Позиции аргументов generatePassword(length, complexity, owner)
+    private static final int LENGTH_ARG = 0;
+    private static final int COMPLEXITY_ARG = 1;
+
     @Before("execution(* com.example.passwordgenerator.service.PasswordService.generatePassword(..)) || " +
             "execution(* com.example.passwordgenerator.service.PasswordService.generatePasswordsBulk(..))")
+    @SuppressWarnings("unchecked")
     public void countPasswordGeneration(JoinPoint joinPoint) {
         String methodName = joinPoint.getSignature().getName();
+        Object[] args = joinPoint.getArgs();
 
         if ("generatePasswordsBulk".equals(methodName)) {
-            Object[] args = joinPoint.getArgs();
             if (args != null && args.length > 0 && args[0] instanceof List) {
-                List<?> requests = (List<?>) args[0];
-                for (int i = 0; i < requests.size(); i++) {
-                    RequestCounter.increment();
-                }
+                RequestCounter.recordBulk((List<PasswordGenerationRequest>) args[0]);
+            }
+        } else if ("generatePassword".equals(methodName)) {
+            if (args != null && args.length > COMPLEXITY_ARG && args[LENGTH_ARG] instanceof Integer length
+                    && args[COMPLEXITY_ARG] instanceof Integer complexity) {
+                RequestCounter.record(RequestCounter.Endpoint.GENERATE, complexity, length);
+            } else {
+                RequestCounter.increment();
             }
-        } else {
-            RequestCounter.increment();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PasswordTagView;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+
+import java.util.Collection;
+
+/**
+ * Грубая оценка занимаемой памяти для типов, которые хранятся в кэшах (64-битная JVM, сжатые ссылки).
+ * Нужна только для сравнения областей между собой, а не для точного учёта.
+ */
+final class CacheEntrySizes {
+    private static final long OBJECT_HEADER = 16;
+    private static final long REFERENCE = 4;
+    // Объект String и заголовок его массива; символы паролей и хэшей однобайтовые
+    private static final long STRING_OVERHEAD = 40;
+    private static final long BOXED_LONG = 16;
+
+    private CacheEntrySizes() {
+    }
+
+    static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return STRING_OVERHEAD + string.length();
+        }
+        if (value instanceof Number) {
+            return BOXED_LONG;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 16 + REFERENCE * collection.size();
+            for (Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof KeysetPage<?> page) {
+            return OBJECT_HEADER + 2 * REFERENCE + estimate(page.getItems()) + estimate(page.getNextCursor());
+        }
+        if (value instanceof Password password) {
+            // Ленивая коллекция тегов не загружается и не учитывается
+            return OBJECT_HEADER + 4 * REFERENCE + BOXED_LONG
+                    + estimate(password.getPassword()) + estimate(password.getOwner());
+        }
+        if (value instanceof Tag tag) {
+            return OBJECT_HEADER + 3 * REFERENCE + BOXED_LONG + estimate(tag.getName());
+        }
+        if (value instanceof PasswordTagView view) {
+            return OBJECT_HEADER + 4 * REFERENCE + BOXED_LONG + estimate(view.getPassword())
+                    + estimate(view.getOwner()) + estimate(view.getTags());
+        }
+        return OBJECT_HEADER;
+    }
+}
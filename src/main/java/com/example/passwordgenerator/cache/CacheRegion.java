@@ -0,0 +1,288 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Именованная область кэша с ограничением по числу записей и временем жизни.
+ * Хранилище — Caffeine: потокобезопасно без глобальной блокировки, вытеснение по политике W-TinyLFU.
+ *
+ * <p>Каждая инвалидация увеличивает эпоху области. Загрузка запоминает эпоху до обращения к источнику
+ * и не кладёт результат, если эпоха успела смениться, поэтому значение, прочитанное до параллельной
+ * записи, не возвращается в кэш после её инвалидации. Одновременные промахи по одному ключу
+ * объединяются в одну загрузку.
+ *
+ * <p>При включённом {@link RefreshAhead} часто читаемые записи перезагружаются в фоне до истечения TTL,
+ * а читатели до завершения перезагрузки получают текущее значение.
+ */
+public class CacheRegion<K, V> {
+    // Столько записей просматривается для оценки объёма области
+    private static final int SIZE_SAMPLE = 64;
+    // Узел Caffeine со ссылками, счётчиками частоты и временем записи
+    private static final long NODE_OVERHEAD = 64;
+
+    private final String name;
+    private volatile long maxSize;
+    private final Duration ttl;
+    private final Cache<K, Entry<V>> store;
+    private final RefreshAhead refreshAhead;
+    private final AtomicLong epoch = new AtomicLong();
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    // Счётчик обращений живёт вместе со значением и сбрасывается при каждой записи
+    private static final class Entry<V> {
+        final V value;
+        final LongAdder hits = new LongAdder();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+    public CacheRegion(String name, long maxSize, Duration ttl) {
+        this(name, maxSize, ttl, RefreshAhead.DISABLED, Ticker.systemTicker());
+    }
+
+    CacheRegion(String name, long maxSize, Duration ttl, RefreshAhead refreshAhead, Ticker ticker) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Отрицательный размер области кэша " + name + ".");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats();
+        // Нулевой TTL означает записи без срока годности
+        if (!ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.store = builder.build();
+    }
+
+    public Optional<V> get(K key) {
+        Entry<V> entry = store.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.hits.increment();
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Возвращает значение из кэша, а при промахе — результат loader. Пока идёт загрузка ключа,
+     * остальные запросы того же ключа ждут её результата вместо повторного обращения к источнику.
+     * null от loader не кэшируется.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> cached = store.getIfPresent(key);
+        if (cached != null) {
+            cached.hits.increment();
+            refreshIfDue(key, cached, loader);
+            return cached.value;
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalescedLoads.increment();
+            return await(leader);
+        }
+        long started = System.nanoTime();
+        try {
+            long observed = epoch.get();
+            loads.increment();
+            V value = loader.apply(key);
+            if (value != null) {
+                putIfCurrent(key, value, observed);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadNanos.add(System.nanoTime() - started);
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public void put(K key, V value) {
+        store.put(key, new Entry<>(value));
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    // Кладёт значение, только если с момента снятия эпохи не было инвалидаций
+    public void putIfCurrent(K key, V value, long observedEpoch) {
+        if (epoch.get() != observedEpoch) {
+            return;
+        }
+        store.put(key, new Entry<>(value));
+        // Инвалидация могла пройти между проверкой и записью — тогда запись уже устарела
+        if (epoch.get() != observedEpoch) {
+            store.invalidate(key);
+        }
+    }
+
+    // Загрузки, начатые до инвалидации, больше не раздаются новым запросам
+    public void invalidate(K key) {
+        epoch.incrementAndGet();
+        inFlight.remove(key);
+        store.invalidate(key);
+    }
+
+    public void invalidateAll(Iterable<? extends K> keys) {
+        epoch.incrementAndGet();
+        for (K key : keys) {
+            inFlight.remove(key);
+        }
+        store.invalidateAll(keys);
+    }
+
+    // Полный проход по области: годится для областей, где затронутые ключи нельзя вычислить заранее
+    public void invalidateIf(BiPredicate<? super K, ? super V> stale) {
+        epoch.incrementAndGet();
+        inFlight.clear();
+        store.asMap().entrySet().removeIf(entry -> stale.test(entry.getKey(), entry.getValue().value));
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        inFlight.clear();
+        store.invalidateAll();
+    }
+
+    // Оценка: вытеснение выполняется асинхронно, поэтому размер может ненадолго превышать maxSize
+    public long size() {
+        return store.estimatedSize();
+    }
+
+    // Самые востребованные записи по оценке частоты W-TinyLFU, в порядке убывания
+    public Map<K, V> hottest(int limit) {
+        Map<K, V> hottest = new LinkedHashMap<>();
+        store.policy().eviction().ifPresent(eviction ->
+                eviction.hottest(limit).forEach((key, entry) -> hottest.put(key, entry.value)));
+        return hottest;
+    }
+
+    // Новый предел применяется сразу: лишние записи вытесняются при ближайшем обслуживании
+    public void resize(long newMaxSize) {
+        if (newMaxSize < 0) {
+            throw new IllegalArgumentException("Отрицательный размер области кэша " + name + ".");
+        }
+        store.policy().eviction().ifPresent(eviction -> eviction.setMaximum(newMaxSize));
+        maxSize = newMaxSize;
+    }
+
+    public CacheRegionStats getStats() {
+        CacheStats stats = store.stats();
+        long loadCount = loads.sum();
+        double averageLoadMillis = loadCount == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / loadCount;
+        long entries = store.estimatedSize();
+        return new CacheRegionStats(name, entries, maxSize, ttl.toSeconds(), stats.hitCount(),
+                stats.missCount(), loadCount, coalescedLoads.sum(), averageLoadMillis,
+                refreshes.sum(), stats.evictionCount(), estimateBytes(entries));
+    }
+
+    // Средний размер по выборке записей, умноженный на их число
+    private long estimateBytes(long entries) {
+        long sampled = 0;
+        long sampledBytes = 0;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = store.asMap().entrySet().iterator();
+        while (sampled < SIZE_SAMPLE && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            sampledBytes += NODE_OVERHEAD + CacheEntrySizes.estimate(entry.getKey())
+                    + CacheEntrySizes.estimate(entry.getValue().value);
+            sampled++;
+        }
+        return sampled == 0 ? 0 : sampledBytes * entries / sampled;
+    }
+
+    // Перезагрузка идёт тем же loader, что и обычный промах, и подчиняется той же проверке эпохи
+    private void refreshIfDue(K key, Entry<V> entry, Function<? super K, ? extends V> loader) {
+        if (!refreshAhead.isEnabled() || ttl.isZero()) {
+            return;
+        }
+        OptionalLong age = store.policy().expireAfterWrite()
+                .map(expiration -> expiration.ageOf(key, TimeUnit.NANOSECONDS))
+                .orElse(OptionalLong.empty());
+        if (age.isEmpty() || !refreshAhead.isDue(age.getAsLong(), ttl.toNanos(), entry.hits.sum())
+                || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long observed = epoch.get();
+        boolean submitted = refreshAhead.trySubmit(() -> {
+            try {
+                V value = loader.apply(key);
+                if (value != null) {
+                    refreshes.increment();
+                    putIfCurrent(key, value, observed);
+                }
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+        if (!submitted) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    void cleanUp() {
+        store.cleanUp();
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // Ожидающие получают то же исключение, что и загружавший поток
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Геттеры
+    public String getName() { return name; }
+    public long getMaxSize() { return maxSize; }
+    public Duration getTtl() { return ttl; }
+    public long getLoads() { return loads.sum(); }
+    public long getCoalescedLoads() { return coalescedLoads.sum(); }
+    public long getHits() { return store.stats().hitCount(); }
+    public long getMisses() { return store.stats().missCount(); }
+    public long getEvictions() { return store.stats().evictionCount(); }
+    public long getRefreshes() { return refreshes.sum(); }
+}
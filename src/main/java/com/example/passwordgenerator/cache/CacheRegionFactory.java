@@ -0,0 +1,69 @@
+package com.example.passwordgenerator.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Создаёт области кэша по настройкам cache.region.&lt;имя&gt;.max-size и cache.region.&lt;имя&gt;.ttl,
+ * подставляя значения по умолчанию, заданные владельцем области. Упреждающее обновление
+ * включается для области свойством cache.region.&lt;имя&gt;.refresh-ahead (доля TTL) и использует
+ * общий для всех областей пул из cache.refresh.max-concurrency потоков.
+ */
+@Component
+public class CacheRegionFactory {
+    private static final String PREFIX = "cache.region.";
+
+    private final Environment environment;
+    private final int refreshConcurrency;
+    private final Semaphore refreshPermits;
+    private volatile ExecutorService refreshExecutor;
+
+    public CacheRegionFactory(Environment environment) {
+        this.environment = environment;
+        this.refreshConcurrency = Math.max(1, environment.getProperty("cache.refresh.max-concurrency",
+                Integer.class, 2));
+        this.refreshPermits = new Semaphore(refreshConcurrency);
+    }
+
+    public <K, V> CacheRegion<K, V> create(String name, long defaultMaxSize, Duration defaultTtl) {
+        long maxSize = environment.getProperty(PREFIX + name + ".max-size", Long.class, defaultMaxSize);
+        String ttlValue = environment.getProperty(PREFIX + name + ".ttl");
+        // Принимаются и короткая запись (10m), и ISO-8601 (PT10M)
+        Duration ttl = ttlValue == null ? defaultTtl : DurationStyle.detectAndParse(ttlValue);
+        double refreshRatio = environment.getProperty(PREFIX + name + ".refresh-ahead", Double.class, 0.0);
+        long refreshThreshold = environment.getProperty(PREFIX + name + ".refresh-threshold", Long.class, 3L);
+        RefreshAhead refreshAhead = refreshRatio > 0.0
+                ? new RefreshAhead(refreshRatio, refreshThreshold, refreshExecutor(), refreshPermits)
+                : RefreshAhead.DISABLED;
+        return new CacheRegion<>(name, maxSize, ttl, refreshAhead, Ticker.systemTicker());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    // Пул создаётся, только если хотя бы одна область включила упреждающее обновление
+    private synchronized ExecutorService refreshExecutor() {
+        if (refreshExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            refreshExecutor = Executors.newFixedThreadPool(refreshConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return refreshExecutor;
+    }
+}
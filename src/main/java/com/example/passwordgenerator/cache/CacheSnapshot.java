@@ -0,0 +1,200 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import com.example.passwordgenerator.repository.PasswordRepository;
+import com.example.passwordgenerator.repository.TagRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Снимок горячих записей кэшей паролей и тегов по id для быстрого прогрева после перезапуска.
+ * При штатной остановке записи сохраняются в двоичный файл, при старте файл отображается в память,
+ * а записи сверяются с БД одним запросом на область: удалённые и изменённые строки отбрасываются.
+ *
+ * <p>Формат: MAGIC, VERSION, затем по секции на область — число записей и сами записи
+ * (id и строковые поля как длина + UTF-8).
+ */
+@Component
+public class CacheSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshot.class);
+
+    static final int MAGIC = 0x50474353;
+    static final int VERSION = 1;
+
+    private final PasswordCache passwordCache;
+    private final TagCache tagCache;
+    private final PasswordRepository passwordRepository;
+    private final TagRepository tagRepository;
+    private final boolean enabled;
+    private final Path path;
+    private final int maxEntries;
+
+    public CacheSnapshot(PasswordCache passwordCache, TagCache tagCache,
+                         PasswordRepository passwordRepository, TagRepository tagRepository,
+                         @Value("${cache.snapshot.enabled:false}") boolean enabled,
+                         @Value("${cache.snapshot.path:cache-snapshot.bin}") String path,
+                         @Value("${cache.snapshot.max-entries:10000}") int maxEntries) {
+        this.passwordCache = passwordCache;
+        this.tagCache = tagCache;
+        this.passwordRepository = passwordRepository;
+        this.tagRepository = tagRepository;
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.maxEntries = maxEntries;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        List<Password> passwords = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warn("Файл {} не является снимком кэша этой версии и пропущен", path);
+                return;
+            }
+            for (int i = buffer.getInt(); i > 0; i--) {
+                Password password = new Password(readString(buffer), readString(buffer));
+                password.setId(buffer.getLong());
+                passwords.add(password);
+            }
+            for (int i = buffer.getInt(); i > 0; i--) {
+                Tag tag = new Tag(readString(buffer));
+                tag.setId(buffer.getLong());
+                tags.add(tag);
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Снимок кэша {} не прочитан, старт с пустым кэшем: {}", path, e.toString());
+            return;
+        }
+        // Узел уже принимает запросы: запись между сверкой и прогревом сменит эпоху, и прогрев её не затрёт
+        long passwordsEpoch = passwordCache.passwordsByIdEpoch();
+        long tagsEpoch = tagCache.tagsByIdEpoch();
+        List<Password> freshPasswords = validPasswords(passwords);
+        List<Tag> freshTags = validTags(tags);
+        passwordCache.preloadPasswords(freshPasswords, passwordsEpoch);
+        tagCache.preloadTags(freshTags, tagsEpoch);
+        logger.info("Кэш прогрет из снимка: паролей {} из {}, тегов {} из {}",
+                freshPasswords.size(), passwords.size(), freshTags.size(), tags.size());
+    }
+
+    @PreDestroy
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        Collection<Password> passwords = passwordCache.getHotPasswords(maxEntries);
+        Collection<Tag> tags = tagCache.getHotTags(maxEntries);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(passwords.size());
+                for (Password password : passwords) {
+                    writeString(out, password.getPassword());
+                    writeString(out, password.getOwner());
+                    out.writeLong(password.getId());
+                }
+                out.writeInt(tags.size());
+                for (Tag tag : tags) {
+                    writeString(out, tag.getName());
+                    out.writeLong(tag.getId());
+                }
+            }
+            // Читатель никогда не увидит наполовину записанный файл
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Снимок кэша сохранён в {}: паролей {}, тегов {}",
+                    path, passwords.size(), tags.size());
+        } catch (IOException e) {
+            logger.warn("Не удалось сохранить снимок кэша в {}: {}", path, e.toString());
+        }
+    }
+
+    // Строка из БД принимается, только если совпадает с сохранённой
+    private List<Password> validPasswords(List<Password> snapshot) {
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Password> current = new HashMap<>();
+        List<Long> ids = snapshot.stream().map(Password::getId).toList();
+        for (Password password : passwordRepository.findAllById(ids)) {
+            current.put(password.getId(), password);
+        }
+        List<Password> fresh = new ArrayList<>();
+        for (Password saved : snapshot) {
+            Password row = current.get(saved.getId());
+            if (row != null && Objects.equals(row.getPassword(), saved.getPassword())
+                    && Objects.equals(row.getOwner(), saved.getOwner())) {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private List<Tag> validTags(List<Tag> snapshot) {
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Tag> current = new HashMap<>();
+        List<Long> ids = snapshot.stream().map(Tag::getId).toList();
+        for (Tag tag : tagRepository.findAllById(ids)) {
+            current.put(tag.getId(), tag);
+        }
+        List<Tag> fresh = new ArrayList<>();
+        for (Tag saved : snapshot) {
+            Tag row = current.get(saved.getId());
+            if (row != null && Objects.equals(row.getName(), saved.getName())) {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Повреждённая строка в снимке кэша");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.passwordgenerator.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Шина инвалидации кэшей между узлами через Postgres LISTEN/NOTIFY.
+ *
+ * <p>Сервисы после локальной инвалидации сообщают о записи сюда. События копятся и раз в
+ * flush-interval уходят одним NOTIFY, поэтому всплеск записей превращается в несколько уведомлений.
+ * Каждый узел слушает канал в отдельном потоке на выделенном соединении и применяет чужие события
+ * к своим кэшам. После потери соединения пропущенные события неизвестны, поэтому узел очищает
+ * кэши данных БД целиком.
+ */
+@Component
+public class ClusterInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationBus.class);
+
+    private static final long RECONNECT_DELAY_MS = 1_000;
+    private static final int POLL_TIMEOUT_MS = 500;
+
+    private final PasswordCache passwordCache;
+    private final TagCache tagCache;
+    private final SecondLevelCache secondLevelCache;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final String channel;
+    private final long flushIntervalMs;
+    private final String nodeId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextInt());
+
+    private InvalidationEvent pending = new InvalidationEvent(nodeId);
+    private ScheduledExecutorService publisher;
+    private Thread listener;
+    private volatile boolean running;
+
+    public ClusterInvalidationBus(PasswordCache passwordCache, TagCache tagCache,
+                                  SecondLevelCache secondLevelCache, DataSource dataSource,
+                                  @Value("${cache.cluster.enabled:false}") boolean enabled,
+                                  @Value("${cache.cluster.channel:cache_invalidation}") String channel,
+                                  @Value("${cache.cluster.flush-interval-ms:50}") long flushIntervalMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Недопустимое имя канала инвалидации: " + channel);
+        }
+        this.passwordCache = passwordCache;
+        this.tagCache = tagCache;
+        this.secondLevelCache = secondLevelCache;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        logger.info("Шина инвалидации кэша запущена: узел {}, канал {}", nodeId, channel);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Последние события отправляются до остановки узла
+        flush();
+        listener.interrupt();
+    }
+
+    public void publishPasswords(Collection<Long> ids) {
+        if (enabled && !ids.isEmpty()) {
+            synchronized (this) {
+                pending.addPasswords(ids);
+            }
+        }
+    }
+
+    public void publishTag(long id, String name) {
+        if (enabled) {
+            synchronized (this) {
+                pending.addTag(id, name);
+            }
+        }
+    }
+
+    public void publishTagLists() {
+        if (enabled) {
+            synchronized (this) {
+                pending.addTagLists();
+            }
+        }
+    }
+
+    void flush() {
+        InvalidationEvent batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new InvalidationEvent(nodeId);
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, batch.encode());
+            statement.execute();
+        } catch (SQLException e) {
+            // Пакет возвращается в очередь и уйдёт со следующей отправкой, иначе другие узлы
+            // так и останутся с устаревшими записями
+            synchronized (this) {
+                pending.merge(batch);
+            }
+            logger.warn("Не удалось отправить событие инвалидации кэша, повтор при следующей отправке: {}",
+                    e.toString());
+        }
+    }
+
+    void apply(InvalidationEvent event) {
+        if (nodeId.equals(event.getOrigin())) {
+            return;
+        }
+        if (event.isAll()) {
+            clearAll();
+            return;
+        }
+        if (!event.getPasswordIds().isEmpty()) {
+            passwordCache.evictPasswords(event.getPasswordIds());
+            secondLevelCache.evictPasswords(event.getPasswordIds());
+        }
+        event.getTags().forEach((id, name) -> {
+            tagCache.evictTag(id, name.isEmpty() ? null : name);
+            secondLevelCache.evictTag(id);
+        });
+        if (event.isTagLists()) {
+            passwordCache.evictTagLists();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    clearAll();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        applyQuietly(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Соединение шины инвалидации потеряно, переподключение: {}", e.toString());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void clearAll() {
+        passwordCache.clearDatabaseCache();
+        tagCache.clearCache();
+        secondLevelCache.clear();
+    }
+
+    private void applyQuietly(String payload) {
+        try {
+            apply(InvalidationEvent.decode(payload));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Пропущено событие инвалидации: {}", e.getMessage());
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+}
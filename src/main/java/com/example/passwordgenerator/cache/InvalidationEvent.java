@@ -0,0 +1,130 @@
+package com.example.passwordgenerator.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Пакет инвалидаций для других узлов. События, накопленные за интервал отправки, объединяются
+ * в один пакет; если он не помещается в уведомление Postgres, вместо него уходит полная очистка.
+ *
+ * <p>Формат: {@code 1|узел|флаги|id паролей через запятую|id:имя тегов через запятую},
+ * флаги — A (очистить всё) и L (списки паролей по тегам), имена тегов в Base64url.
+ */
+public class InvalidationEvent {
+    static final String FORMAT_VERSION = "1";
+    // Предел NOTIFY — 8000 байт, остаток оставлен на служебные поля
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final String origin;
+    private final Set<Long> passwordIds = new LinkedHashSet<>();
+    private final Map<Long, String> tags = new LinkedHashMap<>();
+    private boolean tagLists;
+    private boolean all;
+
+    public InvalidationEvent(String origin) {
+        this.origin = origin;
+    }
+
+    public void addPasswords(Collection<Long> ids) {
+        passwordIds.addAll(ids);
+    }
+
+    // name может быть null, если имя тега неизвестно (удаление по id)
+    public void addTag(long id, String name) {
+        tags.merge(id, name == null ? "" : name, (previous, next) -> next.isEmpty() ? previous : next);
+    }
+
+    public void addTagLists() {
+        tagLists = true;
+    }
+
+    public void addAll() {
+        all = true;
+    }
+
+    // Объединяет неотправленный пакет с событиями, накопленными после него
+    public void merge(InvalidationEvent other) {
+        passwordIds.addAll(other.passwordIds);
+        other.tags.forEach(this::addTag);
+        tagLists |= other.tagLists;
+        all |= other.all;
+    }
+
+    public boolean isEmpty() {
+        return !all && !tagLists && passwordIds.isEmpty() && tags.isEmpty();
+    }
+
+    public String encode() {
+        String payload = encode(all);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            return encode(true);
+        }
+        return payload;
+    }
+
+    public static InvalidationEvent decode(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 5 || !FORMAT_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Неизвестный формат события инвалидации: " + payload);
+        }
+        InvalidationEvent event = new InvalidationEvent(parts[1]);
+        event.all = parts[2].contains("A");
+        event.tagLists = parts[2].contains("L");
+        if (!parts[3].isEmpty()) {
+            for (String id : parts[3].split(",")) {
+                event.passwordIds.add(Long.parseLong(id));
+            }
+        }
+        if (!parts[4].isEmpty()) {
+            for (String tag : parts[4].split(",")) {
+                int separator = tag.indexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Повреждённый тег в событии инвалидации: " + tag);
+                }
+                String name = new String(Base64.getUrlDecoder().decode(tag.substring(separator + 1)),
+                        StandardCharsets.UTF_8);
+                event.tags.put(Long.parseLong(tag.substring(0, separator)), name);
+            }
+        }
+        return event;
+    }
+
+    private String encode(boolean everything) {
+        StringBuilder payload = new StringBuilder(64)
+                .append(FORMAT_VERSION).append('|').append(origin).append('|');
+        if (everything) {
+            // Полная очистка перекрывает любые точечные инвалидации
+            return payload.append("A||").toString();
+        }
+        if (tagLists) {
+            payload.append('L');
+        }
+        payload.append('|');
+        String separator = "";
+        for (Long id : passwordIds) {
+            payload.append(separator).append(id);
+            separator = ",";
+        }
+        payload.append('|');
+        separator = "";
+        for (Map.Entry<Long, String> tag : tags.entrySet()) {
+            payload.append(separator).append(tag.getKey()).append(':')
+                    .append(Base64.getUrlEncoder().withoutPadding()
+                            .encodeToString(tag.getValue().getBytes(StandardCharsets.UTF_8)));
+            separator = ",";
+        }
+        return payload.toString();
+    }
+
+    // Геттеры
+    public String getOrigin() { return origin; }
+    public Set<Long> getPasswordIds() { return passwordIds; }
+    public Map<Long, String> getTags() { return tags; }
+    public boolean isTagLists() { return tagLists; }
+    public boolean isAll() { return all; }
+}
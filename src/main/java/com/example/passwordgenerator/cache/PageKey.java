@@ -0,0 +1,21 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.dto.KeysetPage;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ключ закэшированной страницы keyset-выборки: id, после которого она начинается, и её размер.
+ */
+record PageKey(long afterId, int limit) {
+
+    // Страница содержит id, если она последняя или её последний элемент не меньше id
+    <T> boolean covers(KeysetPage<T> page, long id, ToLongFunction<T> idOf) {
+        if (id <= afterId) {
+            return false;
+        }
+        List<T> items = page.getItems();
+        return page.getNextCursor() == null || idOf.applyAsLong(items.get(items.size() - 1)) >= id;
+    }
+}
@@ -1,69 +1,98 @@
 package com.example.passwordgenerator.cache;
 
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Кэш паролей. Области с данными БД инвалидируются точечно по изменённым id, а промахи по ним
+ * загружаются через {@link CacheRegion#getOrLoad}, который учитывает эпоху области и объединяет
+ * одновременные загрузки одного ключа.
+ */
 @Component
 public class PasswordCache {
-    private final Map<String, List<Password>> passwordsCache = new HashMap<>();
-    private final Map<Long, Password> passwordByIdCache = new HashMap<>();
-    private final Map<String, List<Password>> passwordsByTagCache = new HashMap<>();
-    private final Map<String, String> generatedPasswordsCache = new HashMap<>();
-    private final Map<String, List<String>> bulkPasswordsCache = new HashMap<>();
-
-    public Optional<List<Password>> getAllPasswords() {
-        return Optional.ofNullable(passwordsCache.get("all"));
+    private final CacheRegion<PageKey, KeysetPage<Password>> pagesCache;
+    private final CacheRegion<Long, Password> passwordByIdCache;
+    private final CacheRegion<String, List<PasswordTagView>> passwordsByTagCache;
+
+    public PasswordCache(CacheRegionFactory regions) {
+        this.pagesCache = regions.create("passwords.pages", 1_000, Duration.ofMinutes(5));
+        this.passwordByIdCache = regions.create("passwords.by-id", 10_000, Duration.ofMinutes(10));
+        this.passwordsByTagCache = regions.create("passwords.by-tag", 1_000, Duration.ofMinutes(5));
+    }
+
+    public Optional<KeysetPage<Password>> getPage(long afterId, int limit) {
+        return pagesCache.get(new PageKey(afterId, limit));
     }
 
-    public void putAllPasswords(List<Password> passwords) {
-        passwordsCache.put("all", passwords);
+    public KeysetPage<Password> getPage(long afterId, int limit, Supplier<KeysetPage<Password>> loader) {
+        return pagesCache.getOrLoad(new PageKey(afterId, limit), key -> loader.get());
     }
 
     public Optional<Password> getPasswordById(Long id) {
-        return Optional.ofNullable(passwordByIdCache.get(id));
+        return passwordByIdCache.get(id);
     }
 
-    public void putPasswordById(Long id, Password password) {
-        passwordByIdCache.put(id, password);
+    // Отсутствующий пароль (loader вернул null) не кэшируется
+    public Optional<Password> getPasswordById(Long id, Supplier<Password> loader) {
+        return Optional.ofNullable(passwordByIdCache.getOrLoad(id, key -> loader.get()));
     }
 
-    public Optional<List<Password>> getPasswordsByTag(String tagName) {
-        return Optional.ofNullable(passwordsByTagCache.get(tagName));
+    public Optional<List<PasswordTagView>> getPasswordsByTag(String tagName) {
+        return passwordsByTagCache.get(tagName);
     }
 
-    public void putPasswordsByTag(String tagName, List<Password> passwords) {
-        passwordsByTagCache.put(tagName, passwords);
+    public List<PasswordTagView> getPasswordsByTag(String tagName, Supplier<List<PasswordTagView>> loader) {
+        return passwordsByTagCache.getOrLoad(tagName, key -> loader.get());
     }
 
-    public Optional<String> getGeneratedPassword(String key) {
-        return Optional.ofNullable(generatedPasswordsCache.get(key));
+    public Collection<Password> getHotPasswords(int limit) {
+        return passwordByIdCache.hottest(limit).values();
     }
 
-    public void putGeneratedPassword(String key, String password) {
-        generatedPasswordsCache.put(key, password);
+    // Эпоха области по id: запоминается до сверки снимка с БД
+    public long passwordsByIdEpoch() {
+        return passwordByIdCache.epoch();
     }
 
-    public Optional<List<String>> getBulkPasswords(String key) {
-        return Optional.ofNullable(bulkPasswordsCache.get(key));
+    // Прогрев при старте: значения сверены с БД; после инвалидации в эпохе observedEpoch не кладутся
+    public void preloadPasswords(Collection<Password> passwords, long observedEpoch) {
+        for (Password password : passwords) {
+            passwordByIdCache.putIfCurrent(password.getId(), password, observedEpoch);
+        }
     }
 
-    public void putBulkPasswords(String key, List<String> passwords) {
-        bulkPasswordsCache.put(key, passwords);
+    public List<CacheRegion<?, ?>> getRegions() {
+        return List.of(pagesCache, passwordByIdCache, passwordsByTagCache);
     }
 
-    public void clearDatabaseCache() {
-        passwordsCache.clear();
-        passwordByIdCache.clear();
-        passwordsByTagCache.clear();
+    // Вытесняет записи по id, страницы, в диапазон которых попадают id, и списки тегов с этими паролями
+    public void evictPasswords(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        passwordByIdCache.invalidateAll(ids);
+        pagesCache.invalidateIf((key, page) ->
+                ids.stream().anyMatch(id -> key.covers(page, id, Password::getId)));
+        passwordsByTagCache.invalidateIf((tagName, views) ->
+                views.stream().anyMatch(view -> ids.contains(view.getId())));
     }
 
-    public void clearGeneratedCache() {
-        generatedPasswordsCache.clear();
-        bulkPasswordsCache.clear();
+    // Изменения тегов меняют состав и содержимое списков, но не сами пароли
+    public void evictTagLists() {
+        passwordsByTagCache.invalidateAll();
+    }
+
+    public void clearDatabaseCache() {
+        pagesCache.invalidateAll();
+        passwordByIdCache.invalidateAll();
+        passwordsByTagCache.invalidateAll();
     }
-}
\ No newline at end of file
+}
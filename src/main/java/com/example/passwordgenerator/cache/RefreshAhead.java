@@ -0,0 +1,57 @@
+package com.example.passwordgenerator.cache;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Настройки упреждающего обновления области: запись, к которой обращались не реже threshold раз,
+ * перезагружается в фоне, когда её возраст превышает долю ratio от TTL. Число одновременных
+ * перезагрузок ограничено общими для всех областей разрешениями; без свободного разрешения
+ * обновление пропускается, а не ставится в очередь.
+ */
+final class RefreshAhead {
+    static final RefreshAhead DISABLED =
+            new RefreshAhead(0.0, Long.MAX_VALUE, Runnable::run, new Semaphore(0));
+
+    private final double ratio;
+    private final long threshold;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    RefreshAhead(double ratio, long threshold, Executor executor, Semaphore permits) {
+        if (ratio < 0.0 || ratio >= 1.0) {
+            throw new IllegalArgumentException("Доля TTL для упреждающего обновления должна быть в [0, 1).");
+        }
+        this.ratio = ratio;
+        this.threshold = threshold;
+        this.executor = executor;
+        this.permits = permits;
+    }
+
+    boolean isEnabled() {
+        return ratio > 0.0;
+    }
+
+    boolean isDue(long ageNanos, long ttlNanos, long hits) {
+        return isEnabled() && hits >= threshold && ageNanos >= (long) (ttlNanos * ratio);
+    }
+
+    boolean trySubmit(Runnable refresh) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            permits.release();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.dto.SecondLevelCacheStats;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Второй уровень кэша Hibernate для Password, Tag и их связей. Регионы описаны в application.conf
+ * (Caffeine JCache), включаются свойствами hibernate.cache.use_second_level_cache и use_query_cache.
+ *
+ * <p>На своём узле Hibernate сам поддерживает регионы в актуальном состоянии при записи через JPA.
+ * Методы вытеснения нужны для изменений с других узлов, о которых узнаёт ClusterInvalidationBus.
+ */
+@Component
+public class SecondLevelCache {
+
+    static final String PASSWORD_TAGS_ROLE = Password.class.getName() + ".tags";
+    static final String TAG_PASSWORDS_ROLE = Tag.class.getName() + ".passwordEntries";
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public boolean isEnabled() {
+        return sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()
+                || sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled();
+    }
+
+    // Счётчики ненулевые только при hibernate.generate_statistics=true
+    public List<SecondLevelCacheStats> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(SecondLevelCache::toStats)
+                .toList();
+    }
+
+    // Связи тег—пароль хранятся и на стороне тегов, какие теги затронуты — неизвестно
+    public void evictPasswords(Collection<Long> ids) {
+        Cache cache = sessionFactory.getCache();
+        for (Long id : ids) {
+            cache.evictEntityData(Password.class, id);
+            cache.evictCollectionData(PASSWORD_TAGS_ROLE, id);
+        }
+        cache.evictCollectionData(TAG_PASSWORDS_ROLE);
+        cache.evictQueryRegion(Password.BY_TAG_QUERY_CACHE_REGION);
+    }
+
+    public void evictTag(long id) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(Tag.class, id);
+        cache.evictCollectionData(TAG_PASSWORDS_ROLE, id);
+        cache.evictCollectionData(PASSWORD_TAGS_ROLE);
+        cache.evictQueryRegion(Password.BY_TAG_QUERY_CACHE_REGION);
+    }
+
+    public void clear() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private static SecondLevelCacheStats toStats(CacheRegionStatistics region) {
+        return new SecondLevelCacheStats(region.getRegionName(), region.getElementCountInMemory(),
+                region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+}
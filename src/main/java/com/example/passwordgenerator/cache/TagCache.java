@@ -1,34 +1,112 @@
 package com.example.passwordgenerator.cache;
 
+import com.example.passwordgenerator.dto.KeysetPage;
 import com.example.passwordgenerator.entity.Tag;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Кэш тегов: по id, индекс имя → id и постраничные списки. Тег по имени берётся из области по id,
+ * поэтому запись тега вытесняет по ключу только его id и текущее имя; запись индекса под прежним
+ * именем обнаруживается при чтении по несовпадению имени. Страницы не адресуются по id тега,
+ * их приходится отбирать перебором области страниц.
+ */
 @Component
 public class TagCache {
-    private final Map<String, Object> cache = new HashMap<>();
+    private final CacheRegion<PageKey, KeysetPage<Tag>> pagesCache;
+    private final CacheRegion<Long, Tag> tagByIdCache;
+    private final CacheRegion<String, Long> tagIdByNameCache;
 
-    public Optional<List<Tag>> getAllTags() {
-        return Optional.ofNullable((List<Tag>) cache.get("allTags"));
+    public TagCache(CacheRegionFactory regions) {
+        this.pagesCache = regions.create("tags.pages", 1_000, Duration.ofMinutes(5));
+        this.tagByIdCache = regions.create("tags.by-id", 10_000, Duration.ofMinutes(10));
+        this.tagIdByNameCache = regions.create("tags.by-name", 10_000, Duration.ofMinutes(10));
     }
 
-    public void putAllTags(List<Tag> tags) {
-        cache.put("allTags", tags);
+    public Optional<KeysetPage<Tag>> getPage(long afterId, int limit) {
+        return pagesCache.get(new PageKey(afterId, limit));
+    }
+
+    public KeysetPage<Tag> getPage(long afterId, int limit, Supplier<KeysetPage<Tag>> loader) {
+        return pagesCache.getOrLoad(new PageKey(afterId, limit), key -> loader.get());
     }
 
     public Optional<Tag> getTagById(Long id) {
-        return Optional.ofNullable((Tag) cache.get("tag_" + id));
+        return tagByIdCache.get(id);
+    }
+
+    // Отсутствующий тег (loader вернул null) не кэшируется
+    public Optional<Tag> getTagById(Long id, Supplier<Tag> loader) {
+        return Optional.ofNullable(tagByIdCache.getOrLoad(id, key -> loader.get()));
+    }
+
+    public Optional<Tag> getTagByName(String name) {
+        return tagIdByNameCache.get(name)
+                .flatMap(tagByIdCache::get)
+                .filter(tag -> name.equals(tag.getName()));
+    }
+
+    // Загруженный по имени тег сразу кладётся и в область по id, чтобы не читать его из БД повторно
+    public Optional<Tag> getTagByName(String name, Supplier<Tag> nameLoader, Function<Long, Tag> idLoader) {
+        Long id = tagIdByNameCache.getOrLoad(name, key -> {
+            long observedEpoch = tagByIdCache.epoch();
+            Tag tag = nameLoader.get();
+            if (tag == null) {
+                return null;
+            }
+            tagByIdCache.putIfCurrent(tag.getId(), tag, observedEpoch);
+            return tag.getId();
+        });
+        if (id == null) {
+            return Optional.empty();
+        }
+        Tag tag = tagByIdCache.getOrLoad(id, idLoader);
+        if (tag != null && name.equals(tag.getName())) {
+            return Optional.of(tag);
+        }
+        // Запись индекса устарела: тег переименован или удалён
+        tagIdByNameCache.invalidate(name);
+        return Optional.ofNullable(nameLoader.get());
+    }
+
+    // name — текущее имя тега: под ним мог быть закэширован другой тег с тем же именем
+    public void evictTag(long id, String name) {
+        tagByIdCache.invalidate(id);
+        if (name != null) {
+            tagIdByNameCache.invalidate(name);
+        }
+        pagesCache.invalidateIf((key, page) -> key.covers(page, id, Tag::getId));
+    }
+
+    public Collection<Tag> getHotTags(int limit) {
+        return tagByIdCache.hottest(limit).values();
+    }
+
+    // Эпоха области по id: запоминается до сверки снимка с БД
+    public long tagsByIdEpoch() {
+        return tagByIdCache.epoch();
+    }
+
+    // Прогрев при старте: значения сверены с БД; после инвалидации в эпохе observedEpoch не кладутся
+    public void preloadTags(Collection<Tag> tags, long observedEpoch) {
+        for (Tag tag : tags) {
+            tagByIdCache.putIfCurrent(tag.getId(), tag, observedEpoch);
+        }
     }
 
-    public void putTagById(Long id, Tag tag) {
-        cache.put("tag_" + id, tag);
+    public List<CacheRegion<?, ?>> getRegions() {
+        return List.of(pagesCache, tagByIdCache, tagIdByNameCache);
     }
 
     public void clearCache() {
-        cache.clear();
+        pagesCache.invalidateAll();
+        tagByIdCache.invalidateAll();
+        tagIdByNameCache.invalidateAll();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.passwordgenerator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Отдельный пул, чтобы массовая генерация не занимала общий ForkJoinPool.commonPool()
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool bulkGenerationPool(@Value("${password.bulk.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+}
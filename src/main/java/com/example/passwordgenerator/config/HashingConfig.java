@@ -0,0 +1,52 @@
+package com.example.passwordgenerator.config;
+
+import com.example.passwordgenerator.hashing.HashingAlgorithm;
+import com.example.passwordgenerator.hashing.HashingCalibrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HashingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashingConfig.class);
+
+    /**
+     * Новые хэши пишутся выбранным алгоритмом с префиксом вида {@code {bcrypt}}, а хэши без префикса,
+     * сохранённые до появления DelegatingPasswordEncoder, по-прежнему проверяются как BCrypt.
+     * Калибруется только алгоритм кодирования и только если стоимость хранится в хэше; остальные
+     * кодировщики нужны лишь для проверки и создаются с минимальной стоимостью. PBKDF2 всегда
+     * использует password.hashing.pbkdf2-iterations: иначе хэш не проверится на узле с другой калибровкой.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${password.hashing.algorithm:bcrypt}") String algorithm,
+            @Value("${password.hashing.calibrate:true}") boolean calibrate,
+            @Value("${password.hashing.target-latency-ms:100}") long targetLatencyMs,
+            @Value("${password.hashing.pbkdf2-iterations:100000}") int pbkdf2Iterations) {
+        HashingAlgorithm encodingAlgorithm = HashingAlgorithm.fromId(algorithm);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (HashingAlgorithm candidate : HashingAlgorithm.values()) {
+            int cost = candidate == HashingAlgorithm.PBKDF2 ? pbkdf2Iterations : candidate.getMinCost();
+            if (calibrate && candidate == encodingAlgorithm && candidate.isCostInHash()) {
+                long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+                cost = new HashingCalibrator().calibrate(candidate, targetNanos);
+                logger.info("Калибровка {}: стоимость {} для целевой задержки {} мс",
+                        candidate.getId(), cost, targetLatencyMs);
+            }
+            encoders.put(candidate.getId(), candidate.createEncoder(cost));
+        }
+        DelegatingPasswordEncoder encoder =
+                new DelegatingPasswordEncoder(encodingAlgorithm.getId(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(HashingAlgorithm.BCRYPT.getId()));
+        return encoder;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.passwordgenerator.config;
+
+import com.example.passwordgenerator.entity.Password;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Раньше идентификаторы паролей выдавал IDENTITY-столбец, а новая последовательность passwords_seq
+ * начинается с единицы. Перед приёмом запросов сдвигаем её за максимальный существующий id,
+ * чтобы пакетные вставки не столкнулись со старыми строками.
+ */
+@Component
+public class PasswordSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Зависимость от EntityManagerFactory гарантирует, что Hibernate уже создал последовательность
+    public PasswordSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('passwords_seq', GREATEST("
+                        + "(SELECT COALESCE(MAX(id), 0) FROM passwords) + ?, "
+                        + "(SELECT last_value FROM passwords_seq)))",
+                Long.class, Password.ID_ALLOCATION_SIZE);
+        logger.info("Последовательность passwords_seq выровнена до {}", value);
+    }
+}
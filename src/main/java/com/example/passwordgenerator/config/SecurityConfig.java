@@ -2,6 +2,8 @@ package com.example.passwordgenerator.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -12,6 +14,12 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(authorize -> authorize
+                        // Управление кэшами и сброс замеров меняют состояние узла, а метрики Prometheus
+                        // раскрывают внутреннее устройство: только для аутентифицированных
+                        .requestMatchers(HttpMethod.PUT, "/api/cache/**").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/cache/**").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/metrics/latency/reset").authenticated()
+                        .requestMatchers("/actuator/prometheus").authenticated()
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -20,13 +28,16 @@ public class SecurityConfig {
                                 "/api/passwords/**",
                                 "/api/tags/**",
                                 "/api/counter/**",
+                                "/actuator/health",
                                 "/api/passwords/generate"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/cache/**", "/api/metrics/**").permitAll()
                         .anyRequest().authenticated()
                 )
+                .httpBasic(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.disable());
 
         return http.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.CacheRegionStats;
+import com.example.passwordgenerator.dto.SecondLevelCacheStats;
+import com.example.passwordgenerator.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStats>> getStats() {
+        return ResponseEntity.ok(cacheService.getStats());
+    }
+
+    // Регионы второго уровня кэша Hibernate; пустой список, если он выключен
+    @GetMapping("/hibernate")
+    public ResponseEntity<List<SecondLevelCacheStats>> getSecondLevelStats() {
+        return ResponseEntity.ok(cacheService.getSecondLevelStats());
+    }
+
+    @DeleteMapping("/hibernate")
+    public ResponseEntity<Void> flushSecondLevel() {
+        cacheService.flushSecondLevel();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{region}")
+    public ResponseEntity<CacheRegionStats> getRegionStats(@PathVariable String region) {
+        return cacheService.getStats(region)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{region}/size")
+    public ResponseEntity<CacheRegionStats> resize(@PathVariable String region, @RequestParam long maxSize) {
+        return cacheService.resize(region, maxSize)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{region}")
+    public ResponseEntity<Void> flush(@PathVariable String region) {
+        return cacheService.flush(region)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.passwordgenerator.controller;
 
+import com.example.passwordgenerator.dto.ClusterRequestCount;
+import com.example.passwordgenerator.dto.EntropyStats;
+import com.example.passwordgenerator.dto.PersistenceQueueStats;
+import com.example.passwordgenerator.dto.RequestCountBreakdown;
+import com.example.passwordgenerator.dto.RequestRateStats;
+import com.example.passwordgenerator.dto.ReservoirStats;
 import com.example.passwordgenerator.service.CounterService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/counter")
 public class CounterController {
@@ -20,6 +28,36 @@ public class CounterController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/breakdown")
+    public ResponseEntity<RequestCountBreakdown> getBreakdown() {
+        return ResponseEntity.ok(counterService.getRequestBreakdown());
+    }
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterRequestCount> getClusterCount() {
+        return ResponseEntity.ok(counterService.getClusterRequestCount());
+    }
+
+    @GetMapping("/rates")
+    public ResponseEntity<List<RequestRateStats>> getRates() {
+        return ResponseEntity.ok(counterService.getRequestRates());
+    }
+
+    @GetMapping("/entropy")
+    public ResponseEntity<List<EntropyStats>> getEntropyStats() {
+        return ResponseEntity.ok(counterService.getEntropyStats());
+    }
+
+    @GetMapping("/reservoir")
+    public ResponseEntity<List<ReservoirStats>> getReservoirStats() {
+        return ResponseEntity.ok(counterService.getReservoirStats());
+    }
+
+    @GetMapping("/persistence")
+    public ResponseEntity<PersistenceQueueStats> getPersistenceStats() {
+        return ResponseEntity.ok(counterService.getPersistenceStats());
+    }
+
     @PostMapping("/reset")
     public ResponseEntity<Void> resetCount() {
         counterService.resetRequestCount();
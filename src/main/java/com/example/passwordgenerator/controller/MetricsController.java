@@ -0,0 +1,44 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.LatencyStats;
+import com.example.passwordgenerator.service.MetricsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    public MetricsController(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    // prefix — слой (controller, service, repository, hashing) или начало имени
+    @GetMapping("/latency")
+    public ResponseEntity<List<LatencyStats>> getLatency(@RequestParam(required = false) String prefix) {
+        return ResponseEntity.ok(metricsService.getLatency(prefix));
+    }
+
+    @GetMapping("/latency/{name}")
+    public ResponseEntity<LatencyStats> getLatencyByName(@PathVariable String name) {
+        return metricsService.getLatencyByName(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Начинает новое окно замеров: для всех гистограмм или только для name
+    @PostMapping("/latency/reset")
+    public ResponseEntity<Void> resetLatency(@RequestParam(required = false) String name) {
+        if (name == null) {
+            metricsService.resetLatency();
+            return ResponseEntity.noContent().build();
+        }
+        return metricsService.resetLatency(name)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
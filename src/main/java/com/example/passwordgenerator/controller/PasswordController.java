@@ -1,11 +1,12 @@
 package com.example.passwordgenerator.controller;
 
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PageCursor;
 import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
 import com.example.passwordgenerator.service.PasswordService;
 import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,7 +17,6 @@ import java.util.List;
 @RequestMapping("/api/passwords")
 public class PasswordController {
 
-    private static final Logger logger = LoggerFactory.getLogger(PasswordController.class);
     private final PasswordService passwordService;
 
     public PasswordController(PasswordService passwordService) {
@@ -35,16 +35,17 @@ public class PasswordController {
     }
 
     @PostMapping(value = "/generate-bulk", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<String>> generatePasswordsBulk(@RequestBody List<PasswordGenerationRequest> requests) {
-        logger.debug("Received requests: {}", requests);
+    public ResponseEntity<List<String>> generatePasswordsBulk(
+            @RequestBody List<PasswordGenerationRequest> requests) {
         List<String> passwords = passwordService.generatePasswordsBulk(requests);
-        logger.debug("Returning passwords: {}", passwords);
         return ResponseEntity.ok(passwords);
     }
 
     @GetMapping
-    public List<Password> getAll() {
-        return passwordService.findAll();
+    public KeysetPage<Password> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit) {
+        return passwordService.findAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -73,7 +74,7 @@ public class PasswordController {
     }
 
     @GetMapping("/by-tag")
-    public List<Password> getPasswordsByTagName(@RequestParam String tagName) {
+    public List<PasswordTagView> getPasswordsByTagName(@RequestParam String tagName) {
         return passwordService.findPasswordsByTagName(tagName);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.PersistenceJobStatus;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.service.PersistenceJobService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Асинхронное сохранение паролей: запрос принимается сразу, статус задания запрашивается отдельно
+@RestController
+@Validated
+@RequestMapping("/api/passwords")
+public class PasswordJobController {
+
+    private final PersistenceJobService persistenceJobService;
+
+    public PasswordJobController(PersistenceJobService persistenceJobService) {
+        this.persistenceJobService = persistenceJobService;
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<PersistenceJobStatus> createAsync(@Valid @RequestBody Password password) {
+        return ResponseEntity.accepted().body(persistenceJobService.submitCreate(password));
+    }
+
+    @PostMapping("/bulk/async")
+    public ResponseEntity<PersistenceJobStatus> createBulkAsync(
+            @RequestBody List<@Valid Password> passwords) {
+        return ResponseEntity.accepted().body(persistenceJobService.submitBulk(passwords));
+    }
+
+    @PutMapping("/{id}/async")
+    public ResponseEntity<PersistenceJobStatus> updateAsync(@PathVariable Long id,
+                                                            @Valid @RequestBody Password password) {
+        password.setId(id);
+        return ResponseEntity.accepted().body(persistenceJobService.submitUpdate(password));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<PersistenceJobStatus> getJobStatus(@PathVariable String jobId) {
+        return persistenceJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
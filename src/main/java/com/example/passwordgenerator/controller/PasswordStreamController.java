@@ -0,0 +1,62 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.service.PasswordService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Потоковая пакетная генерация: запросы читаются и пароли отдаются по мере генерации
+@RestController
+@RequestMapping("/api/passwords")
+public class PasswordStreamController {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private final PasswordService passwordService;
+    private final ObjectMapper objectMapper;
+
+    public PasswordStreamController(PasswordService passwordService, ObjectMapper objectMapper) {
+        this.passwordService = passwordService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Принимает JSON-массив или NDJSON с запросами и отвечает по строке NDJSON на каждый пароль
+    @PostMapping(value = "/generate-bulk/stream", produces = NDJSON_VALUE)
+    public void generatePasswordsStream(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(NDJSON_VALUE + ";charset=UTF-8");
+        try (MappingIterator<PasswordGenerationRequest> requests = objectMapper
+                .readerFor(PasswordGenerationRequest.class)
+                .readValues(request.getInputStream());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getWriter())) {
+            // Строки разделяются переводом строки, а не пробелом по умолчанию
+            generator.setRootValueSeparator(null);
+            try {
+                passwordService.generatePasswordsStream(requests, password -> writeLine(generator, password));
+            } catch (IllegalArgumentException | RuntimeJsonMappingException e) {
+                // Статус уже отправлен, поэтому ошибка передаётся последней строкой потока
+                generator.writeStartObject();
+                generator.writeStringField("error", e.getMessage());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, String password) {
+        try {
+            generator.writeString(password);
+            generator.writeRaw('\n');
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.passwordgenerator.controller;
 
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PageCursor;
 import com.example.passwordgenerator.entity.Tag;
 import com.example.passwordgenerator.service.TagService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/tags")
@@ -18,8 +19,9 @@ public class TagController {
     }
 
     @GetMapping
-    public List<Tag> getAll() {
-        return tagService.findAll();
+    public KeysetPage<Tag> getAll(@RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit) {
+        return tagService.findAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -29,6 +31,13 @@ public class TagController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/by-name")
+    public ResponseEntity<Tag> getByName(@RequestParam String name) {
+        return tagService.findByName(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public Tag create(@RequestBody Tag tag) {
         return tagService.create(tag);
@@ -0,0 +1,301 @@
+package com.example.passwordgenerator.counter;
+
+import com.example.passwordgenerator.dto.ClusterRequestCount;
+import com.example.passwordgenerator.dto.NodeRequestCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически сохраняет итог RequestCounter этого узла, чтобы он переживал перезапуск.
+ * Запросы по-прежнему считаются только в памяти; фоновый поток раз в interval записывает текущий итог
+ * строкой узла в таблицу request_counter_checkpoints. Если БД недоступна, итог дописывается в локальный
+ * журнал, который удаляется после следующей успешной записи в БД. Строка и журнал принадлежат узлу
+ * counter.checkpoint.node-id, по умолчанию — хост и server.port.
+ *
+ * <p>При старте итог восстанавливается из более свежей из двух записей. При аварийной остановке
+ * теряются только увеличения с последней контрольной точки. Итог кластера — сумма строк всех узлов,
+ * где строка этого узла заменяется текущим значением из памяти.
+ */
+@Component
+public class CounterCheckpointer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterCheckpointer.class);
+
+    static final String TABLE = "request_counter_checkpoints";
+
+    private static final int MAX_NODE_ID_LENGTH = 64;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    // Параметры UPDATE и INSERT строки узла идут в одном порядке
+    private static final int TOTAL_PARAMETER = 1;
+    private static final int UPDATED_AT_PARAMETER = 2;
+    private static final int NODE_ID_PARAMETER = 3;
+    // Строка журнала: время, узел, итог через пробел
+    private static final int JOURNAL_FIELDS = 3;
+    private static final int JOURNAL_TIMESTAMP_FIELD = 0;
+    private static final int JOURNAL_NODE_FIELD = 1;
+    private static final int JOURNAL_TOTAL_FIELD = 2;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final String nodeId;
+    private final Path journal;
+
+    private ScheduledExecutorService scheduler;
+    private boolean schemaReady;
+    private long lastCheckpointed = -1;
+
+    public CounterCheckpointer(DataSource dataSource,
+                               @Value("${counter.checkpoint.enabled:false}") boolean enabled,
+                               @Value("${counter.checkpoint.interval-ms:5000}") long intervalMs,
+                               @Value("${counter.checkpoint.directory:.}") String directory,
+                               @Value("${counter.checkpoint.node-id:}") String nodeId,
+                               @Value("${server.port:8080}") int serverPort) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId(enabled, serverPort) : nodeId;
+        if (!this.nodeId.matches("\\S{1," + MAX_NODE_ID_LENGTH + "}")) {
+            throw new IllegalArgumentException("Недопустимый идентификатор узла счётчика: " + this.nodeId);
+        }
+        // У каждого узла свой журнал, даже если несколько экземпляров запущены из одного каталога
+        this.journal = Paths.get(directory,
+                "request-counter-" + this.nodeId.replaceAll("[^A-Za-z0-9._-]", "_") + ".log");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        restore();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-counter-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkpoint, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Итог с последней контрольной точки сохраняется до остановки узла
+        checkpoint();
+    }
+
+    void restore() {
+        Checkpoint fromDatabase = null;
+        try {
+            fromDatabase = readDatabase();
+        } catch (SQLException e) {
+            logger.warn("Контрольная точка счётчика в БД не прочитана: {}", e.toString());
+        }
+        Checkpoint fromJournal = readJournal();
+        Checkpoint latest = fromJournal != null
+                && (fromDatabase == null || fromJournal.timestamp > fromDatabase.timestamp)
+                ? fromJournal : fromDatabase;
+        if (latest != null) {
+            RequestCounter.add(latest.total);
+            lastCheckpointed = RequestCounter.getCount();
+            logger.info("Счётчик запросов узла {} восстановлен: {}", nodeId, latest.total);
+        }
+    }
+
+    synchronized void checkpoint() {
+        long total = RequestCounter.getCount();
+        if (total == lastCheckpointed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            writeDatabase(total, now);
+            Files.deleteIfExists(journal);
+            lastCheckpointed = total;
+        } catch (SQLException e) {
+            logger.warn("БД недоступна, контрольная точка счётчика записана в {}: {}", journal, e.toString());
+            appendJournal(total, now);
+        } catch (IOException e) {
+            // Строка в БД уже свежее журнала, а при старте выбирается более свежая запись
+            lastCheckpointed = total;
+            logger.warn("Не удалось удалить журнал счётчика {}: {}", journal, e.toString());
+        }
+    }
+
+    public ClusterRequestCount getClusterCount() {
+        long local = RequestCounter.getCount();
+        List<NodeRequestCount> nodes = new ArrayList<>();
+        nodes.add(new NodeRequestCount(nodeId, local, System.currentTimeMillis(), true));
+        long total = local;
+        if (!enabled) {
+            return new ClusterRequestCount(total, false, nodes);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT node_id, total, updated_at_ms FROM " + TABLE + " ORDER BY node_id")) {
+            while (rows.next()) {
+                String node = rows.getString("node_id");
+                if (!nodeId.equals(node)) {
+                    long nodeTotal = rows.getLong("total");
+                    nodes.add(new NodeRequestCount(node, nodeTotal, rows.getLong("updated_at_ms"), false));
+                    total += nodeTotal;
+                }
+            }
+            return new ClusterRequestCount(total, true, nodes);
+        } catch (SQLException e) {
+            logger.warn("Итоги узлов не прочитаны, возвращается только локальный счётчик: {}", e.toString());
+            return new ClusterRequestCount(local, false, nodes);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private Checkpoint readDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ensureSchema(connection);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT total, updated_at_ms FROM " + TABLE + " WHERE node_id = ?")) {
+                statement.setString(1, nodeId);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next()
+                            ? new Checkpoint(rows.getLong("updated_at_ms"), rows.getLong("total"))
+                            : null;
+                }
+            }
+        }
+    }
+
+    // Строку узла пишет только он сам и только из одного потока, поэтому UPDATE + INSERT без гонок
+    private void writeDatabase(long total, long now) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ensureSchema(connection);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE " + TABLE + " SET total = ?, updated_at_ms = ? WHERE node_id = ?")) {
+                bindRow(update, total, now);
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + TABLE + " (total, updated_at_ms, node_id) VALUES (?, ?, ?)")) {
+                bindRow(insert, total, now);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private void bindRow(PreparedStatement statement, long total, long now) throws SQLException {
+        statement.setLong(TOTAL_PARAMETER, total);
+        statement.setLong(UPDATED_AT_PARAMETER, now);
+        statement.setString(NODE_ID_PARAMETER, nodeId);
+    }
+
+    private void ensureSchema(Connection connection) throws SQLException {
+        if (schemaReady) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + TABLE
+                    + " (node_id VARCHAR(" + MAX_NODE_ID_LENGTH + ") PRIMARY KEY, "
+                    + "total BIGINT NOT NULL, updated_at_ms BIGINT NOT NULL)");
+        }
+        schemaReady = true;
+    }
+
+    // Строка журнала: время, узел и итог; с диска дожидаемся, чтобы запись пережила сбой узла
+    private void appendJournal(long total, long now) {
+        byte[] line = (now + " " + nodeId + " " + total + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line));
+            channel.force(false);
+            lastCheckpointed = total;
+        } catch (IOException e) {
+            logger.warn("Не удалось записать контрольную точку счётчика в {}: {}", journal, e.toString());
+        }
+    }
+
+    // Последняя целая строка этого узла; оборванная при сбое строка пропускается
+    private Checkpoint readJournal() {
+        if (!Files.isRegularFile(journal)) {
+            return null;
+        }
+        Checkpoint latest = null;
+        try {
+            for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" ");
+                if (parts.length == JOURNAL_FIELDS && nodeId.equals(parts[JOURNAL_NODE_FIELD])) {
+                    try {
+                        latest = new Checkpoint(Long.parseLong(parts[JOURNAL_TIMESTAMP_FIELD]),
+                                Long.parseLong(parts[JOURNAL_TOTAL_FIELD]));
+                    } catch (NumberFormatException e) {
+                        logger.warn("Повреждённая строка журнала счётчика пропущена: {}", line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Журнал счётчика {} не прочитан: {}", journal, e.toString());
+        }
+        return latest;
+    }
+
+    // Хост и порт различают экземпляры на одной машине; при случайном порте id нужно задать явно
+    private static String defaultNodeId(boolean enabled, int serverPort) {
+        if (enabled && serverPort <= 0) {
+            throw new IllegalStateException("При server.port=" + serverPort
+                    + " задайте counter.checkpoint.node-id: иначе экземпляры получат одинаковый id");
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName() + ":" + serverPort;
+        } catch (UnknownHostException e) {
+            return "localhost:" + serverPort;
+        }
+    }
+
+    private static final class Checkpoint {
+        private final long timestamp;
+        private final long total;
+
+        private Checkpoint(long timestamp, long total) {
+            this.timestamp = timestamp;
+            this.total = total;
+        }
+    }
+}
@@ -1,19 +1,216 @@
 package com.example.passwordgenerator.counter;
 
-import java.util.concurrent.atomic.AtomicLong;
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.RequestCountStats;
+import com.example.passwordgenerator.dto.RequestRateStats;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики запросов генерации на LongAdder: потоки пишут в свои ячейки и не конкурируют за одну
+ * переменную. Кроме общего итога ведутся счётчики по эндпоинту, сложности и диапазону длины;
+ * набор меток фиксирован, поэтому ячейки лежат в плоском массиве и запись не выделяет память.
+ *
+ * <p>increment и add меняют только итог, record и recordBulk — итог и счётчик своих меток.
+ * Чтение суммирует ячейки без блокировок: при параллельной записи это снимок «около» момента чтения.
+ *
+ * <p>record и recordBulk также отмечают событие в скользящих окнах своего эндпоинта (1 с, 1 мин, 15 мин).
+ * Окна не сбрасываются через reset, поэтому темп запросов виден без обнуления общего счётчика.
+ */
 public class RequestCounter {
-    private static final AtomicLong counter = new AtomicLong(0);
 
-    public static synchronized long increment() {
-        return counter.incrementAndGet();
+    public enum Endpoint {
+        GENERATE("generate"),
+        GENERATE_BULK("generate-bulk");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    // Нижние границы диапазонов длины; последний диапазон — значения вне допустимых
+    private static final int MEDIUM_LENGTH_START = 8;
+    private static final int LONG_LENGTH_START = 16;
+    private static final int[] LENGTH_BUCKET_STARTS =
+            {PasswordGeneratorEngine.MIN_LENGTH, MEDIUM_LENGTH_START, LONG_LENGTH_START};
+    private static final String[] LENGTH_BUCKET_LABELS = lengthBucketLabels();
+    private static final String[] COMPLEXITY_LABELS = {"1", "2", "3", "other"};
+
+    private static final Endpoint[] ENDPOINTS = Endpoint.values();
+    private static final int CELLS =
+            ENDPOINTS.length * COMPLEXITY_LABELS.length * LENGTH_BUCKET_LABELS.length;
+
+    private static final LongAdder total = new LongAdder();
+    private static final LongAdder[] cells = new LongAdder[CELLS];
+
+    // Окна одного эндпоинта: длительность и число слотов; точность — доля одного слота
+    private static final int SECOND_WINDOW = 0;
+    private static final int MINUTE_WINDOW = 1;
+    private static final int FIFTEEN_MINUTES_WINDOW = 2;
+    private static final Duration[] WINDOWS =
+            {Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(15)};
+    private static final int[] WINDOW_SLOTS = {10, 60, 90};
+    private static final SlidingWindowCounter[][] windows =
+            new SlidingWindowCounter[ENDPOINTS.length][WINDOWS.length];
+
+    static {
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = new LongAdder();
+        }
+        for (Endpoint endpoint : ENDPOINTS) {
+            for (int w = 0; w < WINDOWS.length; w++) {
+                windows[endpoint.ordinal()][w] = new SlidingWindowCounter(WINDOWS[w], WINDOW_SLOTS[w]);
+            }
+        }
+    }
+
+    private RequestCounter() {
+    }
+
+    // Возвращает итог после увеличения; при параллельных вызовах он может включать чужие увеличения
+    public static long increment() {
+        total.increment();
+        return total.sum();
+    }
+
+    public static void add(long n) {
+        total.add(n);
+    }
+
+    public static void record(Endpoint endpoint, int complexity, int length) {
+        total.increment();
+        cells[cellIndex(endpoint, complexity, length)].increment();
+        markWindows(endpoint, 1);
+    }
+
+    // Пакет считается локально и попадает в общие счётчики одним add на каждую затронутую ячейку
+    public static void recordBulk(List<PasswordGenerationRequest> requests) {
+        long[] counts = new long[CELLS];
+        for (PasswordGenerationRequest request : requests) {
+            int cell = request == null
+                    ? cellIndex(Endpoint.GENERATE_BULK, 0, 0)
+                    : cellIndex(Endpoint.GENERATE_BULK, request.getComplexity(), request.getLength());
+            counts[cell]++;
+        }
+        total.add(requests.size());
+        for (int i = 0; i < CELLS; i++) {
+            if (counts[i] != 0) {
+                cells[i].add(counts[i]);
+            }
+        }
+        markWindows(Endpoint.GENERATE_BULK, requests.size());
+    }
+
+    public static long getCount() {
+        return total.sum();
+    }
+
+    // Счётчик одной ячейки; индексы — позиции в getComplexityLabels и getLengthBucketLabels
+    public static long getCount(Endpoint endpoint, int complexityIndex, int lengthBucketIndex) {
+        return cells[index(endpoint, complexityIndex, lengthBucketIndex)].sum();
+    }
+
+    public static List<String> getComplexityLabels() {
+        return List.of(COMPLEXITY_LABELS);
+    }
+
+    public static List<String> getLengthBucketLabels() {
+        return List.of(LENGTH_BUCKET_LABELS);
+    }
+
+    public static List<RequestCountStats> getBreakdown() {
+        List<RequestCountStats> breakdown = new ArrayList<>();
+        for (int i = 0; i < CELLS; i++) {
+            long count = cells[i].sum();
+            if (count != 0) {
+                int bucket = i % LENGTH_BUCKET_LABELS.length;
+                int complexity = i / LENGTH_BUCKET_LABELS.length % COMPLEXITY_LABELS.length;
+                int endpoint = i / (LENGTH_BUCKET_LABELS.length * COMPLEXITY_LABELS.length);
+                breakdown.add(new RequestCountStats(ENDPOINTS[endpoint].getLabel(),
+                        COMPLEXITY_LABELS[complexity], LENGTH_BUCKET_LABELS[bucket], count));
+            }
+        }
+        return breakdown;
+    }
+
+    // Запросов в секунду по окнам; для пакетов считаются запрошенные пароли, как и в счётчиках
+    public static List<RequestRateStats> getRates() {
+        List<RequestRateStats> rates = new ArrayList<>(ENDPOINTS.length);
+        for (Endpoint endpoint : ENDPOINTS) {
+            SlidingWindowCounter[] endpointWindows = windows[endpoint.ordinal()];
+            rates.add(new RequestRateStats(endpoint.getLabel(),
+                    endpointWindows[SECOND_WINDOW].ratePerSecond(),
+                    endpointWindows[MINUTE_WINDOW].ratePerSecond(),
+                    endpointWindows[FIFTEEN_MINUTES_WINDOW].ratePerSecond()));
+        }
+        return rates;
+    }
+
+    // Увеличения, идущие во время сброса, могут как попасть в новый отсчёт, так и потеряться
+    public static void reset() {
+        total.reset();
+        for (LongAdder cell : cells) {
+            cell.reset();
+        }
+    }
+
+    private static void markWindows(Endpoint endpoint, long n) {
+        if (n == 0) {
+            return;
+        }
+        for (SlidingWindowCounter window : windows[endpoint.ordinal()]) {
+            window.add(n);
+        }
+    }
+
+    private static int cellIndex(Endpoint endpoint, int complexity, int length) {
+        return index(endpoint, complexityIndex(complexity), lengthBucket(length));
+    }
+
+    // Позиция метки сложности в getComplexityLabels; недопустимые значения — метка other
+    public static int complexityIndex(int complexity) {
+        return complexity >= PasswordGeneratorEngine.MIN_COMPLEXITY
+                && complexity <= PasswordGeneratorEngine.MAX_COMPLEXITY
+                ? complexity - PasswordGeneratorEngine.MIN_COMPLEXITY
+                : COMPLEXITY_LABELS.length - 1;
+    }
+
+    private static int index(Endpoint endpoint, int complexityIndex, int lengthBucketIndex) {
+        return (endpoint.ordinal() * COMPLEXITY_LABELS.length + complexityIndex) * LENGTH_BUCKET_LABELS.length
+                + lengthBucketIndex;
     }
 
-    public static synchronized long getCount() {
-        return counter.get();
+    // Метки вида «4-7» строятся из границ, чтобы не расходиться с ними
+    private static String[] lengthBucketLabels() {
+        String[] labels = new String[LENGTH_BUCKET_STARTS.length + 1];
+        for (int i = 0; i < LENGTH_BUCKET_STARTS.length; i++) {
+            int end = i + 1 < LENGTH_BUCKET_STARTS.length
+                    ? LENGTH_BUCKET_STARTS[i + 1] - 1
+                    : PasswordGeneratorEngine.MAX_LENGTH;
+            labels[i] = LENGTH_BUCKET_STARTS[i] + "-" + end;
+        }
+        labels[LENGTH_BUCKET_STARTS.length] = "other";
+        return labels;
     }
 
-    public static synchronized void reset() {
-        counter.set(0);
+    private static int lengthBucket(int length) {
+        if (length < PasswordGeneratorEngine.MIN_LENGTH || length > PasswordGeneratorEngine.MAX_LENGTH) {
+            return LENGTH_BUCKET_LABELS.length - 1;
+        }
+        int bucket = 0;
+        while (bucket + 1 < LENGTH_BUCKET_STARTS.length && length >= LENGTH_BUCKET_STARTS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.example.passwordgenerator.counter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Счётчик событий за скользящее окно: кольцо слотов фиксированной длительности. Каждый слот — один long,
+ * в старших 28 битах номер интервала, к которому относится слот, в младших 36 — число событий.
+ * Запись — CAS одного элемента: если слот принадлежит прошлому кругу, он обнуляется той же операцией.
+ *
+ * <p>Чтение только читает слоты и не мешает записи. Слоты с устаревшим номером не учитываются,
+ * поэтому кольцо не нужно очищать фоновым потоком.
+ */
+public class SlidingWindowCounter {
+
+    private static final int TAG_BITS = 28;
+    private static final int COUNT_BITS = Long.SIZE - TAG_BITS;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long TAG_MASK = (1L << TAG_BITS) - 1;
+    // На сколько кругов может отстать поток записи, чтобы его событие ещё считалось устаревшим
+    private static final int MAX_STALE_LAPS = 64;
+    private static final double MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+
+    private final long slotMillis;
+    private final int slots;
+    private final AtomicLongArray ring;
+    private final LongSupplier clockMillis;
+    private final long createdMillis;
+
+    public SlidingWindowCounter(Duration window, int slots) {
+        this(window.toMillis() / slots, slots, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    SlidingWindowCounter(long slotMillis, int slots, LongSupplier clockMillis) {
+        if (slotMillis <= 0 || slots <= 1) {
+            throw new IllegalArgumentException("Окно должно состоять хотя бы из двух слотов ненулевой длины");
+        }
+        this.slotMillis = slotMillis;
+        this.slots = slots;
+        this.ring = new AtomicLongArray(slots);
+        this.clockMillis = clockMillis;
+        this.createdMillis = clockMillis.getAsLong();
+        // Пустые слоты помечаются интервалом за пределами окна, иначе нулевой номер неоднозначен
+        long pastTag = (Math.floorDiv(createdMillis, slotMillis) - slots) & TAG_MASK;
+        for (int i = 0; i < slots; i++) {
+            ring.set(i, pastTag << COUNT_BITS);
+        }
+    }
+
+    public void add(long n) {
+        long interval = Math.floorDiv(clockMillis.getAsLong(), slotMillis);
+        int index = (int) Math.floorMod(interval, (long) slots);
+        long tag = interval & TAG_MASK;
+        while (true) {
+            long current = ring.get(index);
+            long currentTag = current >>> COUNT_BITS;
+            long next;
+            if (currentTag == tag) {
+                next = current + n;
+            } else if (((currentTag - tag) & TAG_MASK) <= (long) slots * MAX_STALE_LAPS) {
+                // Поток задержался дольше круга, слот уже занят более новым интервалом — событие вне окна
+                return;
+            } else {
+                next = (tag << COUNT_BITS) | n;
+            }
+            if (ring.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    public long sum() {
+        long interval = Math.floorDiv(clockMillis.getAsLong(), slotMillis);
+        long total = 0;
+        for (int i = 0; i < slots; i++) {
+            long value = ring.get(i);
+            long age = (interval - (value >>> COUNT_BITS)) & TAG_MASK;
+            if (age < slots) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    // Делится на фактически покрытое время: полные прошлые слоты и прошедшую часть текущего
+    public double ratePerSecond() {
+        long now = clockMillis.getAsLong();
+        long covered = (slots - 1) * slotMillis + Math.floorMod(now, slotMillis) + 1;
+        covered = Math.min(covered, now - createdMillis + 1);
+        return sum() * MILLIS_PER_SECOND / covered;
+    }
+
+    public Duration getWindow() {
+        return Duration.ofMillis(slotMillis * slots);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.passwordgenerator.dto;
+
+public class CacheRegionStats {
+    private final String region;
+    private final long entries;
+    private final long maxSize;
+    private final long ttlSeconds;
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+    private final long loads;
+    private final long coalescedLoads;
+    private final double averageLoadMillis;
+    private final long refreshes;
+    private final long evictions;
+    private final long estimatedBytes;
+
+    public CacheRegionStats(String region, long entries, long maxSize, long ttlSeconds,
+                            long hits, long misses, long loads, long coalescedLoads,
+                            double averageLoadMillis, long refreshes, long evictions, long estimatedBytes) {
+        this.region = region;
+        this.entries = entries;
+        this.maxSize = maxSize;
+        this.ttlSeconds = ttlSeconds;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        this.loads = loads;
+        this.coalescedLoads = coalescedLoads;
+        this.averageLoadMillis = averageLoadMillis;
+        this.refreshes = refreshes;
+        this.evictions = evictions;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    // Геттеры
+    public String getRegion() { return region; }
+    public long getEntries() { return entries; }
+    public long getMaxSize() { return maxSize; }
+    public long getTtlSeconds() { return ttlSeconds; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public double getHitRate() { return hitRate; }
+    public long getLoads() { return loads; }
+    public long getCoalescedLoads() { return coalescedLoads; }
+    public double getAverageLoadMillis() { return averageLoadMillis; }
+    public long getRefreshes() { return refreshes; }
+    public long getEvictions() { return evictions; }
+    public long getEstimatedBytes() { return estimatedBytes; }
+}
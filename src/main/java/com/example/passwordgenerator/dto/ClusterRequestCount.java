@@ -0,0 +1,21 @@
+package com.example.passwordgenerator.dto;
+
+import java.util.List;
+
+public class ClusterRequestCount {
+    private final long total;
+    // false, если итоги других узлов прочитать не удалось и total — только локальный счётчик
+    private final boolean complete;
+    private final List<NodeRequestCount> nodes;
+
+    public ClusterRequestCount(long total, boolean complete, List<NodeRequestCount> nodes) {
+        this.total = total;
+        this.complete = complete;
+        this.nodes = nodes;
+    }
+
+    // Геттеры
+    public long getTotal() { return total; }
+    public boolean isComplete() { return complete; }
+    public List<NodeRequestCount> getNodes() { return nodes; }
+}
@@ -0,0 +1,28 @@
+package com.example.passwordgenerator.dto;
+
+public class EntropyStats {
+    private final String source;
+    private final String algorithm;
+    private final long bytesDrawn;
+    private final long refills;
+    private final long indicesServed;
+    private final long rejectedSamples;
+
+    public EntropyStats(String source, String algorithm, long bytesDrawn, long refills,
+                        long indicesServed, long rejectedSamples) {
+        this.source = source;
+        this.algorithm = algorithm;
+        this.bytesDrawn = bytesDrawn;
+        this.refills = refills;
+        this.indicesServed = indicesServed;
+        this.rejectedSamples = rejectedSamples;
+    }
+
+    // Геттеры
+    public String getSource() { return source; }
+    public String getAlgorithm() { return algorithm; }
+    public long getBytesDrawn() { return bytesDrawn; }
+    public long getRefills() { return refills; }
+    public long getIndicesServed() { return indicesServed; }
+    public long getRejectedSamples() { return rejectedSamples; }
+}
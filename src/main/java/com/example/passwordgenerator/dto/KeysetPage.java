@@ -0,0 +1,27 @@
+package com.example.passwordgenerator.dto;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public class KeysetPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Строки выбираются с запасом в одну: её наличие означает, что следующая страница существует
+    public static <T> KeysetPage<T> fromOverfetch(List<T> rows, int limit, ToLongFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new KeysetPage<>(items, PageCursor.encode(idOf.applyAsLong(items.get(limit - 1))));
+    }
+
+    // Геттеры
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
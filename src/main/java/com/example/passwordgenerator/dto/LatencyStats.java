@@ -0,0 +1,37 @@
+package com.example.passwordgenerator.dto;
+
+public class LatencyStats {
+    private final String name;
+    private final long count;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p90Millis;
+    private final double p99Millis;
+    private final double p999Millis;
+    private final double maxMillis;
+    private final long windowStartMillis;
+
+    public LatencyStats(String name, long count, double meanMillis, double p50Millis, double p90Millis,
+                        double p99Millis, double p999Millis, double maxMillis, long windowStartMillis) {
+        this.name = name;
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+        this.p999Millis = p999Millis;
+        this.maxMillis = maxMillis;
+        this.windowStartMillis = windowStartMillis;
+    }
+
+    // Геттеры
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public double getMeanMillis() { return meanMillis; }
+    public double getP50Millis() { return p50Millis; }
+    public double getP90Millis() { return p90Millis; }
+    public double getP99Millis() { return p99Millis; }
+    public double getP999Millis() { return p999Millis; }
+    public double getMaxMillis() { return maxMillis; }
+    public long getWindowStartMillis() { return windowStartMillis; }
+}
@@ -0,0 +1,22 @@
+package com.example.passwordgenerator.dto;
+
+public class NodeRequestCount {
+    private final String nodeId;
+    private final long count;
+    private final long updatedAtMillis;
+    // true для текущего узла: значение взято из памяти, а не из контрольной точки
+    private final boolean live;
+
+    public NodeRequestCount(String nodeId, long count, long updatedAtMillis, boolean live) {
+        this.nodeId = nodeId;
+        this.count = count;
+        this.updatedAtMillis = updatedAtMillis;
+        this.live = live;
+    }
+
+    // Геттеры
+    public String getNodeId() { return nodeId; }
+    public long getCount() { return count; }
+    public long getUpdatedAtMillis() { return updatedAtMillis; }
+    public boolean isLive() { return live; }
+}
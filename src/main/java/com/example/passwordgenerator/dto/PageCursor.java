@@ -0,0 +1,46 @@
+package com.example.passwordgenerator.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор постраничной выборки: кодирует id последней строки предыдущей страницы.
+ * Клиент передаёт его обратно без изменений, следующая страница начинается строго после этого id.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Пустой курсор означает первую страницу
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (value.startsWith(PREFIX)) {
+                return Long.parseLong(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Ниже общий ответ для любого повреждённого курсора
+        }
+        throw new IllegalArgumentException("Некорректный курсор страницы.");
+    }
+
+    public static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + MAX_LIMIT + ".");
+        }
+    }
+}
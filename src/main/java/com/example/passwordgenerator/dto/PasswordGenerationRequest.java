@@ -5,6 +5,9 @@ public class PasswordGenerationRequest {
     private int complexity;
     private String owner;
 
+    public PasswordGenerationRequest() {
+    }
+
     public PasswordGenerationRequest(int length, int complexity, String owner) {
         this.length = length;
         this.complexity = complexity;
@@ -15,4 +18,9 @@ public class PasswordGenerationRequest {
     public int getLength() { return length; }
     public int getComplexity() { return complexity; }
     public String getOwner() { return owner; }
-}
\ No newline at end of file
+
+    // Сеттеры
+    public void setLength(int length) { this.length = length; }
+    public void setComplexity(int complexity) { this.complexity = complexity; }
+    public void setOwner(String owner) { this.owner = owner; }
+}
@@ -0,0 +1,24 @@
+package com.example.passwordgenerator.dto;
+
+/**
+ * Плоская строка результата JOIN паролей с тегами: один пароль повторяется столько раз, сколько у него тегов.
+ */
+public class PasswordTagRow {
+    private final Long passwordId;
+    private final String password;
+    private final String owner;
+    private final String tagName;
+
+    public PasswordTagRow(Long passwordId, String password, String owner, String tagName) {
+        this.passwordId = passwordId;
+        this.password = password;
+        this.owner = owner;
+        this.tagName = tagName;
+    }
+
+    // Геттеры
+    public Long getPasswordId() { return passwordId; }
+    public String getPassword() { return password; }
+    public String getOwner() { return owner; }
+    public String getTagName() { return tagName; }
+}
@@ -0,0 +1,45 @@
+package com.example.passwordgenerator.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Модель чтения пароля вместе с именами его тегов, собирается без загрузки сущностей.
+ * Неизменяема: один экземпляр разделяют все читатели кэша passwords.by-tag.
+ */
+public class PasswordTagView {
+    private final Long id;
+    private final String password;
+    private final String owner;
+    private final List<String> tags;
+
+    public PasswordTagView(Long id, String password, String owner, List<String> tags) {
+        this.id = id;
+        this.password = password;
+        this.owner = owner;
+        this.tags = List.copyOf(tags);
+    }
+
+    // Сворачивает строки, упорядоченные по id пароля, в одно представление на пароль
+    public static List<PasswordTagView> fromRows(List<PasswordTagRow> rows) {
+        Map<Long, PasswordTagRow> firstRows = new LinkedHashMap<>();
+        Map<Long, List<String>> tagNames = new HashMap<>();
+        for (PasswordTagRow row : rows) {
+            firstRows.putIfAbsent(row.getPasswordId(), row);
+            tagNames.computeIfAbsent(row.getPasswordId(), id -> new ArrayList<>()).add(row.getTagName());
+        }
+        List<PasswordTagView> views = new ArrayList<>(firstRows.size());
+        firstRows.forEach((id, row) ->
+                views.add(new PasswordTagView(id, row.getPassword(), row.getOwner(), tagNames.get(id))));
+        return List.copyOf(views);
+    }
+
+    // Геттеры
+    public Long getId() { return id; }
+    public String getPassword() { return password; }
+    public String getOwner() { return owner; }
+    public List<String> getTags() { return tags; }
+}
@@ -0,0 +1,40 @@
+package com.example.passwordgenerator.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class PersistenceJobStatus {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final State state;
+    private final int total;
+    private final int processed;
+    private final List<Long> ids;
+    private final String error;
+    private final Instant submittedAt;
+    private final Instant completedAt;
+
+    public PersistenceJobStatus(String jobId, State state, int total, int processed, List<Long> ids,
+                                String error, Instant submittedAt, Instant completedAt) {
+        this.jobId = jobId;
+        this.state = state;
+        this.total = total;
+        this.processed = processed;
+        this.ids = ids;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.completedAt = completedAt;
+    }
+
+    // Геттеры
+    public String getJobId() { return jobId; }
+    public State getState() { return state; }
+    public int getTotal() { return total; }
+    public int getProcessed() { return processed; }
+    public List<Long> getIds() { return ids; }
+    public String getError() { return error; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+}
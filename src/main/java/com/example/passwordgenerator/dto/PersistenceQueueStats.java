@@ -0,0 +1,44 @@
+package com.example.passwordgenerator.dto;
+
+public class PersistenceQueueStats {
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final int activeWorkers;
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long rejected;
+    private final double avgQueueWaitMs;
+    private final long maxQueueWaitMs;
+    private final double avgProcessingMs;
+    private final long maxProcessingMs;
+
+    public PersistenceQueueStats(int queueDepth, int queueCapacity, int activeWorkers, long submitted,
+                                 long completed, long failed, long rejected, double avgQueueWaitMs,
+                                 long maxQueueWaitMs, double avgProcessingMs, long maxProcessingMs) {
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.activeWorkers = activeWorkers;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.avgQueueWaitMs = avgQueueWaitMs;
+        this.maxQueueWaitMs = maxQueueWaitMs;
+        this.avgProcessingMs = avgProcessingMs;
+        this.maxProcessingMs = maxProcessingMs;
+    }
+
+    // Геттеры
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public int getActiveWorkers() { return activeWorkers; }
+    public long getSubmitted() { return submitted; }
+    public long getCompleted() { return completed; }
+    public long getFailed() { return failed; }
+    public long getRejected() { return rejected; }
+    public double getAvgQueueWaitMs() { return avgQueueWaitMs; }
+    public long getMaxQueueWaitMs() { return maxQueueWaitMs; }
+    public double getAvgProcessingMs() { return avgProcessingMs; }
+    public long getMaxProcessingMs() { return maxProcessingMs; }
+}
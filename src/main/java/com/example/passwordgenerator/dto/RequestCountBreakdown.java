@@ -0,0 +1,18 @@
+package com.example.passwordgenerator.dto;
+
+import java.util.List;
+
+public class RequestCountBreakdown {
+    private final long total;
+    // Только ненулевые сочетания меток
+    private final List<RequestCountStats> counts;
+
+    public RequestCountBreakdown(long total, List<RequestCountStats> counts) {
+        this.total = total;
+        this.counts = counts;
+    }
+
+    // Геттеры
+    public long getTotal() { return total; }
+    public List<RequestCountStats> getCounts() { return counts; }
+}
@@ -0,0 +1,21 @@
+package com.example.passwordgenerator.dto;
+
+public class RequestCountStats {
+    private final String endpoint;
+    private final String complexity;
+    private final String lengthBucket;
+    private final long count;
+
+    public RequestCountStats(String endpoint, String complexity, String lengthBucket, long count) {
+        this.endpoint = endpoint;
+        this.complexity = complexity;
+        this.lengthBucket = lengthBucket;
+        this.count = count;
+    }
+
+    // Геттеры
+    public String getEndpoint() { return endpoint; }
+    public String getComplexity() { return complexity; }
+    public String getLengthBucket() { return lengthBucket; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,22 @@
+package com.example.passwordgenerator.dto;
+
+public class RequestRateStats {
+    private final String endpoint;
+    private final double perSecondLast1s;
+    private final double perSecondLast1m;
+    private final double perSecondLast15m;
+
+    public RequestRateStats(String endpoint, double perSecondLast1s, double perSecondLast1m,
+                            double perSecondLast15m) {
+        this.endpoint = endpoint;
+        this.perSecondLast1s = perSecondLast1s;
+        this.perSecondLast1m = perSecondLast1m;
+        this.perSecondLast15m = perSecondLast15m;
+    }
+
+    // Геттеры
+    public String getEndpoint() { return endpoint; }
+    public double getPerSecondLast1s() { return perSecondLast1s; }
+    public double getPerSecondLast1m() { return perSecondLast1m; }
+    public double getPerSecondLast15m() { return perSecondLast15m; }
+}
@@ -0,0 +1,37 @@
+package com.example.passwordgenerator.dto;
+
+public class ReservoirStats {
+    private final int length;
+    private final int complexity;
+    private final int available;
+    private final int capacity;
+    private final long hits;
+    private final long misses;
+    private final long refills;
+    private final long lastRefillLagMs;
+    private final long maxRefillLagMs;
+
+    public ReservoirStats(int length, int complexity, int available, int capacity, long hits, long misses,
+                          long refills, long lastRefillLagMs, long maxRefillLagMs) {
+        this.length = length;
+        this.complexity = complexity;
+        this.available = available;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.refills = refills;
+        this.lastRefillLagMs = lastRefillLagMs;
+        this.maxRefillLagMs = maxRefillLagMs;
+    }
+
+    // Геттеры
+    public int getLength() { return length; }
+    public int getComplexity() { return complexity; }
+    public int getAvailable() { return available; }
+    public int getCapacity() { return capacity; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getRefills() { return refills; }
+    public long getLastRefillLagMs() { return lastRefillLagMs; }
+    public long getMaxRefillLagMs() { return maxRefillLagMs; }
+}
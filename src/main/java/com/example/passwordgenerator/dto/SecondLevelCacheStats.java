@@ -0,0 +1,28 @@
+package com.example.passwordgenerator.dto;
+
+public class SecondLevelCacheStats {
+    private final String region;
+    // -1, если провайдер JCache не сообщает число записей
+    private final long entries;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final double hitRate;
+
+    public SecondLevelCacheStats(String region, long entries, long hits, long misses, long puts) {
+        this.region = region;
+        this.entries = entries;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+
+    // Геттеры
+    public String getRegion() { return region; }
+    public long getEntries() { return entries; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public double getHitRate() { return hitRate; }
+}
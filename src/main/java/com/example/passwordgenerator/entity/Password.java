@@ -2,14 +2,29 @@ package com.example.passwordgenerator.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "passwords")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Password.CACHE_REGION)
 public class Password {
+    // Регионы второго уровня кэша Hibernate, см. application.conf
+    public static final String CACHE_REGION = "hibernate-passwords";
+    public static final String TAGS_CACHE_REGION = "hibernate-passwords-tags";
+    public static final String BY_TAG_QUERY_CACHE_REGION = "hibernate-passwords-by-tag";
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Последовательность с шагом allocationSize позволяет Hibernate группировать вставки в JDBC-пакеты,
+    // чего при IDENTITY не происходит
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "password_seq")
+    @SequenceGenerator(name = "password_seq", sequenceName = "passwords_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "Password cannot be null")
@@ -21,6 +36,7 @@ public class Password {
     private String owner;
 
     @ManyToMany(mappedBy = "passwordEntries")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TAGS_CACHE_REGION)
     private Set<Tag> tags = new HashSet<>();
 
     public Password() {
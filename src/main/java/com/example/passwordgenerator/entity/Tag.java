@@ -1,12 +1,19 @@
 package com.example.passwordgenerator.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "tags")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Tag.CACHE_REGION)
 public class Tag {
+    public static final String CACHE_REGION = "hibernate-tags";
+    public static final String PASSWORDS_CACHE_REGION = "hibernate-tags-passwords";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -14,6 +21,7 @@ public class Tag {
     private String name;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PASSWORDS_CACHE_REGION)
     @JoinTable(
             name = "password_tag",
             joinColumns = @JoinColumn(name = "tag_id"),
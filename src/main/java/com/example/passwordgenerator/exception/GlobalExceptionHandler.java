@@ -1,11 +1,16 @@
 package com.example.passwordgenerator.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -16,4 +21,24 @@ public class GlobalExceptionHandler {
                 .contentType(MediaType.parseMediaType("text/plain;charset=UTF-8"))
                 .body(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.parseMediaType("text/plain;charset=UTF-8"))
+                .body(ex.getMessage());
+    }
+
+    // Нарушения проверки аргументов в контроллерах с @Validated, например элементов списка
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.parseMediaType("text/plain;charset=UTF-8"))
+                .body(ex.getConstraintViolations().stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.passwordgenerator.generator;
+
+import com.example.passwordgenerator.dto.EntropyStats;
+
+import java.util.List;
+
+public interface EntropySource {
+
+    int MAX_BOUND = 256;
+
+    /**
+     * Возвращает равномерно распределённый индекс из диапазона [0, bound).
+     * Границы больше {@link #MAX_BOUND} не поддерживаются: индекс строится из одного случайного байта.
+     */
+    int nextIndex(int bound);
+
+    List<EntropyStats> getStats();
+}
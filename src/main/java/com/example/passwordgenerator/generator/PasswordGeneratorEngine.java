@@ -0,0 +1,79 @@
+package com.example.passwordgenerator.generator;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Генератор паролей без промежуточных аллокаций: алфавиты для каждого уровня сложности
+ * собраны заранее, а символы собираются в переиспользуемом буфере потока.
+ * На один пароль создаётся ровно один объект — итоговая строка.
+ */
+@Component
+public class PasswordGeneratorEngine {
+
+    public static final int MIN_LENGTH = 4;
+    public static final int MAX_LENGTH = 30;
+    public static final int MIN_COMPLEXITY = 1;
+    public static final int MAX_COMPLEXITY = 3;
+
+    private static final String NUMBERS = "0123456789";
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String SYMBOLS = "!@#$%^&*()_-+=<>?/{}[]|";
+
+    // Обязательные классы символов: i-й уровень сложности гарантирует символ из GUARANTEED[i - 1]
+    private static final char[][] GUARANTEED = {
+            NUMBERS.toCharArray(),
+            LETTERS.toCharArray(),
+            SYMBOLS.toCharArray()
+    };
+
+    // Полный алфавит для каждого уровня сложности
+    private static final char[][] ALPHABETS = {
+            NUMBERS.toCharArray(),
+            (NUMBERS + LETTERS).toCharArray(),
+            (NUMBERS + LETTERS + SYMBOLS).toCharArray()
+    };
+
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private final EntropySource entropySource;
+
+    public PasswordGeneratorEngine(EntropySource entropySource) {
+        this.entropySource = entropySource;
+    }
+
+    public String generate(int length, int complexity) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Длина пароля должна быть от 4 до 30 символов.");
+        }
+        if (complexity < MIN_COMPLEXITY || complexity > MAX_COMPLEXITY) {
+            throw new IllegalArgumentException("Уровень сложности должен быть от 1 до 3.");
+        }
+
+        char[] buffer = SCRATCH.get();
+        char[] alphabet = ALPHABETS[complexity - 1];
+
+        int guaranteedChars = Math.min(complexity, length);
+        for (int i = 0; i < guaranteedChars; i++) {
+            char[] charClass = GUARANTEED[i];
+            buffer[i] = charClass[entropySource.nextIndex(charClass.length)];
+        }
+        for (int i = guaranteedChars; i < length; i++) {
+            buffer[i] = alphabet[entropySource.nextIndex(alphabet.length)];
+        }
+
+        // Тасование Фишера–Йетса, чтобы обязательные символы не стояли в начале
+        for (int i = length - 1; i > 0; i--) {
+            int j = entropySource.nextIndex(i + 1);
+            char temp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = temp;
+        }
+
+        String password = new String(buffer, 0, length);
+        // Не оставляем открытый пароль в буфере потока
+        Arrays.fill(buffer, 0, length, '\0');
+        return password;
+    }
+}
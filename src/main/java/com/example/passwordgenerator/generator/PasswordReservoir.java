@@ -0,0 +1,203 @@
+package com.example.passwordgenerator.generator;
+
+import com.example.passwordgenerator.dto.ReservoirStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Запас заранее сгенерированных паролей для популярных сочетаний длины и сложности.
+ * Каждая полка — ограниченная неблокирующая очередь; когда запас опускается ниже порога,
+ * фоновый поток дозаполняет её до ёмкости. Пароль извлекается из очереди и выдаётся ровно один раз.
+ */
+@Component
+public class PasswordReservoir {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordReservoir.class);
+
+    private final PasswordGeneratorEngine generatorEngine;
+    private final boolean enabled;
+    private final int capacity;
+    private final int refillThreshold;
+    private final String shapes;
+    private final int workers;
+    private final Shelf[] shelves =
+            new Shelf[(PasswordGeneratorEngine.MAX_LENGTH + 1) * (PasswordGeneratorEngine.MAX_COMPLEXITY + 1)];
+    private ExecutorService refillExecutor;
+
+    public PasswordReservoir(PasswordGeneratorEngine generatorEngine,
+                             @Value("${password.reservoir.enabled:false}") boolean enabled,
+                             @Value("${password.reservoir.capacity:256}") int capacity,
+                             @Value("${password.reservoir.refill-threshold:64}") int refillThreshold,
+                             @Value("${password.reservoir.shapes:}") String shapes,
+                             @Value("${password.reservoir.workers:1}") int workers) {
+        if (refillThreshold < 0 || refillThreshold >= capacity) {
+            throw new IllegalArgumentException("Порог дозаполнения должен быть меньше ёмкости запаса.");
+        }
+        this.generatorEngine = generatorEngine;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.refillThreshold = refillThreshold;
+        this.shapes = shapes;
+        this.workers = Math.max(1, workers);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || shapes.isBlank()) {
+            return;
+        }
+        for (String shape : shapes.split(",")) {
+            String[] parts = shape.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Формат формы пароля — длина:сложность, получено: " + shape);
+            }
+            int length = Integer.parseInt(parts[0].trim());
+            int complexity = Integer.parseInt(parts[1].trim());
+            // Проверяем параметры тем же кодом, что и при генерации
+            generatorEngine.generate(length, complexity);
+            shelves[slot(length, complexity)] = new Shelf(length, complexity);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        refillExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "password-reservoir-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Shelf shelf : shelves) {
+            if (shelf != null) {
+                scheduleRefill(shelf);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+        // Не держим открытые пароли в памяти после остановки
+        for (Shelf shelf : shelves) {
+            if (shelf != null) {
+                shelf.queue.clear();
+                shelf.size.set(0);
+            }
+        }
+    }
+
+    /**
+     * Забирает пароль из запаса или возвращает {@code null}, если форма не прогревается либо запас пуст.
+     */
+    public String take(int length, int complexity) {
+        if (length < 0 || length > PasswordGeneratorEngine.MAX_LENGTH
+                || complexity < 0 || complexity > PasswordGeneratorEngine.MAX_COMPLEXITY) {
+            return null;
+        }
+        Shelf shelf = shelves[slot(length, complexity)];
+        if (shelf == null) {
+            return null;
+        }
+        String password = shelf.queue.poll();
+        if (password == null) {
+            shelf.misses.increment();
+            shelf.markBelowThreshold();
+            scheduleRefill(shelf);
+            return null;
+        }
+        shelf.hits.increment();
+        if (shelf.size.decrementAndGet() < refillThreshold) {
+            shelf.markBelowThreshold();
+            scheduleRefill(shelf);
+        }
+        return password;
+    }
+
+    public List<ReservoirStats> getStats() {
+        List<ReservoirStats> stats = new ArrayList<>();
+        for (Shelf shelf : shelves) {
+            if (shelf != null) {
+                stats.add(new ReservoirStats(shelf.length, shelf.complexity, shelf.size.get(), capacity,
+                        shelf.hits.sum(), shelf.misses.sum(), shelf.refills.sum(),
+                        shelf.lastRefillLagNanos.get() / 1_000_000, shelf.maxRefillLagNanos.get() / 1_000_000));
+            }
+        }
+        return stats;
+    }
+
+    private void scheduleRefill(Shelf shelf) {
+        if (refillExecutor == null || !shelf.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> refill(shelf));
+        } catch (RejectedExecutionException e) {
+            shelf.refilling.set(false);
+        }
+    }
+
+    private void refill(Shelf shelf) {
+        try {
+            while (shelf.size.get() < capacity && !Thread.currentThread().isInterrupted()) {
+                shelf.queue.offer(generatorEngine.generate(shelf.length, shelf.complexity));
+                shelf.size.incrementAndGet();
+            }
+            shelf.refills.increment();
+            long since = shelf.belowThresholdSince.getAndSet(0);
+            if (since != 0) {
+                long lag = System.nanoTime() - since;
+                shelf.lastRefillLagNanos.set(lag);
+                shelf.maxRefillLagNanos.accumulateAndGet(lag, Math::max);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Не удалось пополнить запас паролей {}:{}", shelf.length, shelf.complexity, e);
+        } finally {
+            shelf.refilling.set(false);
+        }
+        // Пока шёл пересчёт, запас мог снова опуститься ниже порога
+        if (shelf.size.get() < refillThreshold) {
+            scheduleRefill(shelf);
+        }
+    }
+
+    private static int slot(int length, int complexity) {
+        return length * (PasswordGeneratorEngine.MAX_COMPLEXITY + 1) + complexity;
+    }
+
+    private static final class Shelf {
+        private final int length;
+        private final int complexity;
+        private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final AtomicLong belowThresholdSince = new AtomicLong();
+        private final AtomicLong lastRefillLagNanos = new AtomicLong();
+        private final AtomicLong maxRefillLagNanos = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder refills = new LongAdder();
+
+        private Shelf(int length, int complexity) {
+            this.length = length;
+            this.complexity = complexity;
+        }
+
+        private void markBelowThreshold() {
+            belowThresholdSince.compareAndSet(0, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.passwordgenerator.generator;
+
+import com.example.passwordgenerator.dto.EntropyStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Источник случайности на базе {@link SecureRandom} с буферизацией: байты забираются пачками
+ * через {@code nextBytes}, а индексы алфавита получаются из них выборкой с отклонением,
+ * поэтому распределение остаётся равномерным для любой границы.
+ * <p>
+ * Режим {@code thread-local} создаёт отдельный генератор на поток, режим {@code striped} —
+ * фиксированное число генераторов, между которыми распределяются потоки.
+ */
+@Component
+public class SecureRandomEntropySource implements EntropySource {
+
+    public static final String MODE_THREAD_LOCAL = "thread-local";
+    public static final String MODE_STRIPED = "striped";
+
+    private static final Logger logger = LoggerFactory.getLogger(SecureRandomEntropySource.class);
+
+    private final String algorithm;
+    private final int bufferSize;
+    private final Source[] stripes;
+    private final Source threadLocalSource;
+    private final ThreadLocal<Pool> pools;
+
+    public SecureRandomEntropySource(@Value("${password.entropy.algorithm:DRBG}") String algorithm,
+                                     @Value("${password.entropy.mode:thread-local}") String mode,
+                                     @Value("${password.entropy.stripes:0}") int stripes,
+                                     @Value("${password.entropy.buffer-size:256}") int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Размер буфера энтропии должен быть положительным.");
+        }
+        this.algorithm = algorithm;
+        this.bufferSize = bufferSize;
+
+        if (MODE_STRIPED.equals(mode)) {
+            int count = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+            this.stripes = new Source[count];
+            for (int i = 0; i < count; i++) {
+                SecureRandom random = createRandom();
+                this.stripes[i] = new Source("stripe-" + i, random.getAlgorithm(), random);
+            }
+            this.threadLocalSource = null;
+            this.pools = ThreadLocal.withInitial(() -> {
+                Source source = this.stripes[(int) (Thread.currentThread().getId() % this.stripes.length)];
+                return new Pool(source, source.random, bufferSize);
+            });
+        } else if (MODE_THREAD_LOCAL.equals(mode)) {
+            this.stripes = new Source[0];
+            this.threadLocalSource = new Source(MODE_THREAD_LOCAL, createRandom().getAlgorithm(), null);
+            this.pools = ThreadLocal.withInitial(() -> new Pool(threadLocalSource, createRandom(), bufferSize));
+        } else {
+            throw new IllegalArgumentException("Неизвестный режим источника энтропии: " + mode);
+        }
+    }
+
+    @Override
+    public int nextIndex(int bound) {
+        if (bound <= 0 || bound > MAX_BOUND) {
+            throw new IllegalArgumentException("Граница индекса должна быть от 1 до " + MAX_BOUND + ".");
+        }
+        // Байты не меньше limit отбрасываются, иначе младшие индексы выпадали бы чаще
+        int limit = MAX_BOUND - (MAX_BOUND % bound);
+        Pool pool = pools.get();
+        while (true) {
+            int value = pool.nextByte();
+            if (value < limit) {
+                pool.indices++;
+                return value % bound;
+            }
+            pool.rejected++;
+        }
+    }
+
+    @Override
+    public List<EntropyStats> getStats() {
+        List<EntropyStats> stats = new ArrayList<>();
+        if (threadLocalSource != null) {
+            stats.add(threadLocalSource.snapshot());
+        }
+        for (Source stripe : stripes) {
+            stats.add(stripe.snapshot());
+        }
+        return stats;
+    }
+
+    private SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            logger.warn("Алгоритм {} недоступен, используется SecureRandom по умолчанию", algorithm);
+            return new SecureRandom();
+        }
+    }
+
+    private static final class Source {
+        private final String name;
+        private final String algorithm;
+        private final SecureRandom random;
+        private final LongAdder bytesDrawn = new LongAdder();
+        private final LongAdder refills = new LongAdder();
+        private final LongAdder indicesServed = new LongAdder();
+        private final LongAdder rejectedSamples = new LongAdder();
+
+        private Source(String name, String algorithm, SecureRandom random) {
+            this.name = name;
+            this.algorithm = algorithm;
+            this.random = random;
+        }
+
+        private EntropyStats snapshot() {
+            return new EntropyStats(name, algorithm, bytesDrawn.sum(), refills.sum(),
+                    indicesServed.sum(), rejectedSamples.sum());
+        }
+    }
+
+    // Буфер байтов потока; счётчики копятся локально и сбрасываются в источник при перезаполнении
+    private static final class Pool {
+        private final Source source;
+        private final SecureRandom random;
+        private final byte[] bytes;
+        private int position;
+        private long indices;
+        private long rejected;
+
+        private Pool(Source source, SecureRandom random, int bufferSize) {
+            this.source = source;
+            this.random = random;
+            this.bytes = new byte[bufferSize];
+            this.position = bufferSize;
+        }
+
+        private int nextByte() {
+            if (position == bytes.length) {
+                refill();
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        private void refill() {
+            random.nextBytes(bytes);
+            position = 0;
+            source.bytesDrawn.add(bytes.length);
+            source.refills.increment();
+            source.indicesServed.add(indices);
+            source.rejectedSamples.add(rejected);
+            indices = 0;
+            rejected = 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.passwordgenerator.hashing;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Поддерживаемые алгоритмы хэширования. Идентификатор совпадает с префиксом
+ * {@code DelegatingPasswordEncoder}, стоимость — параметр, который подбирает калибровка:
+ * для BCrypt и SCrypt это степень двойки, для PBKDF2 и Argon2 — число итераций.
+ * PBKDF2 не записывает число итераций в хэш, поэтому его стоимость фиксирована, а не калибруется.
+ */
+public enum HashingAlgorithm {
+
+    BCRYPT("bcrypt", 10, 16, true, true) {
+        @Override
+        public PasswordEncoder createEncoder(int cost) {
+            return new BCryptPasswordEncoder(cost);
+        }
+    },
+    PBKDF2("pbkdf2", 100_000, 2_000_000, false, false) {
+        @Override
+        public PasswordEncoder createEncoder(int cost) {
+            return new Pbkdf2PasswordEncoder("", 16, cost,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+    },
+    SCRYPT("scrypt", 14, 20, true, true) {
+        @Override
+        public PasswordEncoder createEncoder(int cost) {
+            return new SCryptPasswordEncoder(1 << cost, 8, 1, 32, 16);
+        }
+    },
+    ARGON2("argon2", 2, 10, false, true) {
+        @Override
+        public PasswordEncoder createEncoder(int cost) {
+            return new Argon2PasswordEncoder(16, 32, 1, 19_456, cost);
+        }
+    };
+
+    private final String id;
+    private final int minCost;
+    private final int maxCost;
+    private final boolean exponential;
+    private final boolean costInHash;
+
+    HashingAlgorithm(String id, int minCost, int maxCost, boolean exponential, boolean costInHash) {
+        this.id = id;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.exponential = exponential;
+        this.costInHash = costInHash;
+    }
+
+    public abstract PasswordEncoder createEncoder(int cost);
+
+    public String getId() {
+        return id;
+    }
+
+    public int getMinCost() {
+        return minCost;
+    }
+
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    // Время растёт вдвое на единицу стоимости, а не пропорционально ей
+    public boolean isExponential() {
+        return exponential;
+    }
+
+    // Стоимость записана в хэше, и проверка не зависит от настроек кодировщика — её можно калибровать
+    public boolean isCostInHash() {
+        return costInHash;
+    }
+
+    public static HashingAlgorithm fromId(String id) {
+        return Arrays.stream(values())
+                .filter(algorithm -> algorithm.id.equalsIgnoreCase(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный алгоритм хэширования: " + id));
+    }
+}
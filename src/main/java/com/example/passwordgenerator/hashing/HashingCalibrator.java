@@ -0,0 +1,41 @@
+package com.example.passwordgenerator.hashing;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Подбирает стоимость хэширования под целевую задержку на текущей машине: замеряет кодирование
+ * с минимальной стоимостью и экстраполирует до наибольшей стоимости, укладывающейся в цель.
+ * Стоимость не опускается ниже минимальной для алгоритма, даже если машина медленная.
+ */
+public class HashingCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Pa55word!";
+
+    public int calibrate(HashingAlgorithm algorithm, long targetNanos) {
+        long measured = measure(algorithm.createEncoder(algorithm.getMinCost()));
+        if (measured >= targetNanos) {
+            return algorithm.getMinCost();
+        }
+        double ratio = (double) targetNanos / measured;
+        long cost = algorithm.isExponential()
+                ? algorithm.getMinCost() + (long) Math.floor(Math.log(ratio) / Math.log(2))
+                : (long) Math.floor(algorithm.getMinCost() * ratio);
+        return (int) Math.min(cost, algorithm.getMaxCost());
+    }
+
+    // Медиана нескольких замеров после прогрева, чтобы один выброс не сдвинул стоимость
+    public long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = Math.max(1, System.nanoTime() - start);
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
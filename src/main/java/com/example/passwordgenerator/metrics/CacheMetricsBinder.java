@@ -0,0 +1,56 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.cache.CacheRegion;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.TagCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Метрики областей кэша под стандартными для Micrometer именами cache.*, с тегом cache = имя области.
+ * Значения читаются из областей при каждом опросе, на пути чтения кэша ничего не добавляется.
+ */
+@Component
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final List<CacheRegion<?, ?>> regions;
+
+    public CacheMetricsBinder(PasswordCache passwordCache, TagCache tagCache) {
+        List<CacheRegion<?, ?>> all = new ArrayList<>(passwordCache.getRegions());
+        all.addAll(tagCache.getRegions());
+        this.regions = List.copyOf(all);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CacheRegion<?, ?> region : regions) {
+            String name = region.getName();
+            Gauge.builder("cache.size", region, CacheRegion::size)
+                    .tag("cache", name)
+                    .description("Число записей в области")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", region, CacheRegion::getHits)
+                    .tags("cache", name, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", region, CacheRegion::getMisses)
+                    .tags("cache", name, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", region, CacheRegion::getEvictions)
+                    .tag("cache", name)
+                    .register(registry);
+            FunctionCounter.builder("cache.loads", region, CacheRegion::getLoads)
+                    .tag("cache", name)
+                    .description("Загрузки из БД после промаха")
+                    .register(registry);
+            FunctionCounter.builder("cache.refreshes", region, CacheRegion::getRefreshes)
+                    .tag("cache", name)
+                    .register(registry);
+        }
+    }
+}
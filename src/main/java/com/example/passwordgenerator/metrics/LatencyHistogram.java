@@ -0,0 +1,108 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.dto.LatencyStats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек в наносекундах с лог-линейными корзинами, как в HdrHistogram: каждая степень двойки
+ * делится на 32 равные части, поэтому относительная погрешность процентилей не больше 1/32 (~3%).
+ * Значения от 0 до 2^36 нс (~68 с) помещаются в 1024 счётчика, более долгие попадают в последнюю корзину.
+ *
+ * <p>Запись — вычисление индекса и атомарные увеличения без блокировок и выделения памяти. Снимок читает
+ * счётчики по одному, поэтому при параллельной записи процентили могут отставать на несколько значений.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT = 36;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private volatile long windowStartMillis = System.currentTimeMillis();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    // Начинает новое окно; записи, идущие во время сброса, могут попасть в любое из двух окон
+    public void reset() {
+        windowStartMillis = System.currentTimeMillis();
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    public LatencyStats snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long max = maxNanos.get();
+        double[] values = new double[PERCENTILES.length];
+        if (count > 0) {
+            int bucket = 0;
+            long seen = copy[0];
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                long rank = Math.max(1, (long) Math.ceil(PERCENTILES[p] * count));
+                while (seen < rank && bucket + 1 < BUCKETS) {
+                    seen += copy[++bucket];
+                }
+                // Граница корзины может оказаться больше реального максимума
+                values[p] = toMillis(Math.min(highestEquivalentValue(bucket), max));
+            }
+        }
+        double meanMillis = count == 0 ? 0.0 : toMillis(totalNanos.sum()) / count;
+        return new LatencyStats(name, count, meanMillis, values[0], values[1], values[2], values[3],
+                toMillis(max), windowStartMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    // Верхняя граница корзины: процентиль не занижается
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long lowest = (long) (SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.dto.LatencyStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Гистограммы задержек по именам вида {@code слой:Класс.метод}. Имена задаются кодом, а не запросами,
+ * поэтому их число ограничено числом инструментированных методов.
+ */
+@Component
+public class LatencyRegistry {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public List<LatencyStats> getStats(String prefix) {
+        return histograms.values().stream()
+                .filter(histogram -> prefix == null || histogram.getName().startsWith(prefix))
+                .map(LatencyHistogram::snapshot)
+                .sorted(Comparator.comparing(LatencyStats::getName))
+                .toList();
+    }
+
+    public Optional<LatencyStats> getStatsByName(String name) {
+        return Optional.ofNullable(histograms.get(name)).map(LatencyHistogram::snapshot);
+    }
+
+    public void resetAll() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    public boolean reset(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) {
+            histogram.reset();
+        }
+        return histogram != null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.hashing.HashingAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Таймеры Micrometer для генерации (тег complexity) и хэширования (теги algorithm и operation).
+ * Все таймеры создаются заранее, поэтому запись не ищет их в реестре и не собирает теги.
+ * Проверка хэша идёт алгоритмом из префикса {id} хэша, поэтому algorithm у matches берётся из него:
+ * хэши без префикса проверяются как BCrypt, неизвестные префиксы помечаются other.
+ */
+@Component
+public class PasswordMetrics {
+
+    private final Timer[] generation;
+    private static final HashingAlgorithm[] ALGORITHMS = HashingAlgorithm.values();
+
+    private final Timer encode;
+    private final Timer[] matches;
+    private final Timer matchesOther;
+
+    public PasswordMetrics(MeterRegistry registry,
+                           @Value("${password.hashing.algorithm:bcrypt}") String hashingAlgorithm) {
+        List<String> complexities = RequestCounter.getComplexityLabels();
+        generation = new Timer[complexities.size()];
+        for (int i = 0; i < generation.length; i++) {
+            generation[i] = Timer.builder("password.generation")
+                    .tag("complexity", complexities.get(i))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        encode = hashingTimer(registry, hashingAlgorithm, "encode");
+        matches = new Timer[ALGORITHMS.length];
+        for (HashingAlgorithm algorithm : ALGORITHMS) {
+            matches[algorithm.ordinal()] = hashingTimer(registry, algorithm.getId(), "matches");
+        }
+        matchesOther = hashingTimer(registry, "other", "matches");
+    }
+
+    public void recordGeneration(int complexity, long nanos) {
+        generation[RequestCounter.complexityIndex(complexity)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEncode(long nanos) {
+        encode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMatches(String encodedPassword, long nanos) {
+        matchesTimer(encodedPassword).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Сравнение префикса на месте, без выделения подстроки
+    private Timer matchesTimer(String encodedPassword) {
+        if (encodedPassword == null) {
+            return matchesOther;
+        }
+        if (!encodedPassword.startsWith("{")) {
+            return matches[HashingAlgorithm.BCRYPT.ordinal()];
+        }
+        for (HashingAlgorithm algorithm : ALGORITHMS) {
+            String id = algorithm.getId();
+            if (encodedPassword.length() > id.length() + 1
+                    && encodedPassword.regionMatches(1, id, 0, id.length())
+                    && encodedPassword.charAt(id.length() + 1) == '}') {
+                return matches[algorithm.ordinal()];
+            }
+        }
+        return matchesOther;
+    }
+
+    private static Timer hashingTimer(MeterRegistry registry, String algorithm, String operation) {
+        return Timer.builder("password.hashing")
+                .tags("algorithm", algorithm, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
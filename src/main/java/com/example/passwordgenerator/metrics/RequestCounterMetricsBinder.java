@@ -0,0 +1,41 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.counter.RequestCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Счётчики RequestCounter: итог и по одной серии на сочетание эндпоинта, сложности и диапазона длины.
+ * Набор меток фиксирован, так что серий всегда одинаковое небольшое число.
+ */
+@Component
+public class RequestCounterMetricsBinder implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("password.request.count", RequestCounter.class,
+                        type -> RequestCounter.getCount())
+                .description("Все запросы генерации, включая учтённые без меток")
+                .register(registry);
+        List<String> complexities = RequestCounter.getComplexityLabels();
+        List<String> lengths = RequestCounter.getLengthBucketLabels();
+        for (RequestCounter.Endpoint endpoint : RequestCounter.Endpoint.values()) {
+            for (int complexity = 0; complexity < complexities.size(); complexity++) {
+                for (int length = 0; length < lengths.size(); length++) {
+                    int complexityIndex = complexity;
+                    int lengthIndex = length;
+                    FunctionCounter.builder("password.generation.requests", RequestCounter.class,
+                                    type -> RequestCounter.getCount(endpoint, complexityIndex, lengthIndex))
+                            .tags("endpoint", endpoint.getLabel(),
+                                    "complexity", complexities.get(complexity),
+                                    "length", lengths.get(length))
+                            .register(registry);
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.passwordgenerator.repository;
 
+import com.example.passwordgenerator.dto.PasswordTagRow;
 import com.example.passwordgenerator.entity.Password;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +16,18 @@ import java.util.List;
 @Repository
 public interface PasswordRepository extends JpaRepository<Password, Long> {
 
-    @Query("SELECT p FROM Password p JOIN p.tags t WHERE t.name = :tagName")
-    List<Password> findPasswordsByTagName(@Param("tagName") String tagName);
+    // Одним запросом: пароли с тегом tagName и имена всех их тегов, без материализации сущностей.
+    // При включённом кэше запросов Hibernate результат берётся из него, пока таблицы не менялись
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Password.BY_TAG_QUERY_CACHE_REGION)
+    })
+    @Query("SELECT DISTINCT new com.example.passwordgenerator.dto.PasswordTagRow("
+            + "p.id, p.password, p.owner, t.name) "
+            + "FROM Password p JOIN p.tags filter JOIN p.tags t "
+            + "WHERE filter.name = :tagName ORDER BY p.id, t.name")
+    List<PasswordTagRow> findPasswordTagRowsByTagName(@Param("tagName") String tagName);
+
+    // WHERE id > ? ORDER BY id LIMIT ? — поиск по первичному ключу вместо OFFSET
+    List<Password> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.example.passwordgenerator.repository;
 
 import com.example.passwordgenerator.entity.Tag;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Имя не уникально: берётся самый ранний тег с этим именем
+    Optional<Tag> findFirstByNameOrderByIdAsc(String name);
 }
@@ -0,0 +1,60 @@
+package com.example.passwordgenerator.service;
+
+import com.example.passwordgenerator.cache.CacheRegion;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.SecondLevelCache;
+import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.dto.CacheRegionStats;
+import com.example.passwordgenerator.dto.SecondLevelCacheStats;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class CacheService {
+
+    private final List<CacheRegion<?, ?>> regions;
+    private final SecondLevelCache secondLevelCache;
+
+    public CacheService(PasswordCache passwordCache, TagCache tagCache, SecondLevelCache secondLevelCache) {
+        List<CacheRegion<?, ?>> all = new ArrayList<>(passwordCache.getRegions());
+        all.addAll(tagCache.getRegions());
+        this.regions = List.copyOf(all);
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    public List<CacheRegionStats> getStats() {
+        return regions.stream().map(CacheRegion::getStats).toList();
+    }
+
+    public Optional<CacheRegionStats> getStats(String name) {
+        return findRegion(name).map(CacheRegion::getStats);
+    }
+
+    public Optional<CacheRegionStats> resize(String name, long maxSize) {
+        return findRegion(name).map(region -> {
+            region.resize(maxSize);
+            return region.getStats();
+        });
+    }
+
+    public boolean flush(String name) {
+        Optional<CacheRegion<?, ?>> region = findRegion(name);
+        region.ifPresent(CacheRegion::invalidateAll);
+        return region.isPresent();
+    }
+
+    public List<SecondLevelCacheStats> getSecondLevelStats() {
+        return secondLevelCache.getStats();
+    }
+
+    public void flushSecondLevel() {
+        secondLevelCache.clear();
+    }
+
+    private Optional<CacheRegion<?, ?>> findRegion(String name) {
+        return regions.stream().filter(region -> region.getName().equals(name)).findFirst();
+    }
+}
@@ -1,15 +1,65 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.counter.CounterCheckpointer;
 import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.dto.ClusterRequestCount;
+import com.example.passwordgenerator.dto.EntropyStats;
+import com.example.passwordgenerator.dto.PersistenceQueueStats;
+import com.example.passwordgenerator.dto.RequestCountBreakdown;
+import com.example.passwordgenerator.dto.RequestRateStats;
+import com.example.passwordgenerator.dto.ReservoirStats;
+import com.example.passwordgenerator.generator.EntropySource;
+import com.example.passwordgenerator.generator.PasswordReservoir;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class CounterService {
+
+    private final EntropySource entropySource;
+    private final PasswordReservoir passwordReservoir;
+    private final PersistenceJobService persistenceJobService;
+    private final CounterCheckpointer counterCheckpointer;
+
+    public CounterService(EntropySource entropySource, PasswordReservoir passwordReservoir,
+                          PersistenceJobService persistenceJobService,
+                          CounterCheckpointer counterCheckpointer) {
+        this.entropySource = entropySource;
+        this.passwordReservoir = passwordReservoir;
+        this.persistenceJobService = persistenceJobService;
+        this.counterCheckpointer = counterCheckpointer;
+    }
+
     public long getRequestCount() {
         return RequestCounter.getCount();
     }
 
+    public RequestCountBreakdown getRequestBreakdown() {
+        return new RequestCountBreakdown(RequestCounter.getCount(), RequestCounter.getBreakdown());
+    }
+
+    public ClusterRequestCount getClusterRequestCount() {
+        return counterCheckpointer.getClusterCount();
+    }
+
+    public List<RequestRateStats> getRequestRates() {
+        return RequestCounter.getRates();
+    }
+
     public void resetRequestCount() {
         RequestCounter.reset();
     }
-}
\ No newline at end of file
+
+    public List<EntropyStats> getEntropyStats() {
+        return entropySource.getStats();
+    }
+
+    public List<ReservoirStats> getReservoirStats() {
+        return passwordReservoir.getStats();
+    }
+
+    public PersistenceQueueStats getPersistenceStats() {
+        return persistenceJobService.getStats();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.passwordgenerator.service;
+
+import com.example.passwordgenerator.dto.LatencyStats;
+import com.example.passwordgenerator.metrics.LatencyRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class MetricsService {
+
+    private final LatencyRegistry latencyRegistry;
+
+    public MetricsService(LatencyRegistry latencyRegistry) {
+        this.latencyRegistry = latencyRegistry;
+    }
+
+    public List<LatencyStats> getLatency(String prefix) {
+        return latencyRegistry.getStats(prefix);
+    }
+
+    public Optional<LatencyStats> getLatencyByName(String name) {
+        return latencyRegistry.getStatsByName(name);
+    }
+
+    public void resetLatency() {
+        latencyRegistry.resetAll();
+    }
+
+    public boolean resetLatency(String name) {
+        return latencyRegistry.reset(name);
+    }
+}
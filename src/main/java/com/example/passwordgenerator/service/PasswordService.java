@@ -1,92 +1,70 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
 import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PageCursor;
 import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.PasswordReservoir;
 import com.example.passwordgenerator.repository.PasswordRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class PasswordService {
 
-    private static final String NUMBERS = "0123456789";
-    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String SYMBOLS = "!@#$%^&*()_-+=<>?/{}[]|";
     private final PasswordRepository passwordRepository;
     private final PasswordCache passwordCache;
-    private final BCryptPasswordEncoder passwordEncoder;
-
-    public PasswordService(PasswordRepository passwordRepository, PasswordCache passwordCache) {
+    private final ClusterInvalidationBus invalidationBus;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordGeneratorEngine generatorEngine;
+    private final PasswordReservoir passwordReservoir;
+    private final ForkJoinPool bulkGenerationPool;
+    private final int parallelThreshold;
+    private final int streamBatchSize;
+
+    public PasswordService(PasswordRepository passwordRepository, PasswordCache passwordCache,
+                           ClusterInvalidationBus invalidationBus, PasswordEncoder passwordEncoder,
+                           PasswordGeneratorEngine generatorEngine,
+                           PasswordReservoir passwordReservoir, ForkJoinPool bulkGenerationPool,
+                           @Value("${password.bulk.parallel-threshold:64}") int parallelThreshold,
+                           @Value("${password.bulk.stream-batch-size:500}") int streamBatchSize) {
         this.passwordRepository = passwordRepository;
         this.passwordCache = passwordCache;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.invalidationBus = invalidationBus;
+        this.passwordEncoder = passwordEncoder;
+        this.generatorEngine = generatorEngine;
+        this.passwordReservoir = passwordReservoir;
+        this.bulkGenerationPool = bulkGenerationPool;
+        this.parallelThreshold = parallelThreshold;
+        this.streamBatchSize = streamBatchSize;
     }
 
+    // Каждый пароль выдаётся один раз, поэтому результат не кэшируется по параметрам запроса
     public String generatePassword(int length, int complexity, String owner) {
-        if (length < 4 || length > 30) {
-            throw new IllegalArgumentException("Длина пароля должна быть от 4 до 30 символов.");
-        }
-        if (complexity < 1 || complexity > 3) {
-            throw new IllegalArgumentException("Уровень сложности должен быть от 1 до 3.");
-        }
-
-        String cacheKey = length + "_" + complexity + "_" + owner;
-        Optional<String> cachedPassword = passwordCache.getGeneratedPassword(cacheKey);
-        if (cachedPassword.isPresent()) {
-            return cachedPassword.get();
-        }
-
-        String characters = NUMBERS;
-        if (complexity >= 2) {
-            characters += LETTERS;
-        }
-        if (complexity >= 3) {
-            characters += SYMBOLS;
-        }
-
-        SecureRandom random = new SecureRandom();
-        StringBuilder password = new StringBuilder();
+        validateGenerationParameters(length, complexity);
 
-        int guaranteedChars = 0;
-        if (complexity >= 1 && length > guaranteedChars) {
-            int index = random.nextInt(NUMBERS.length());
-            password.append(NUMBERS.charAt(index));
-            guaranteedChars++;
+        String generatedPassword = passwordReservoir.take(length, complexity);
+        if (generatedPassword == null) {
+            generatedPassword = generatorEngine.generate(length, complexity);
         }
-        if (complexity >= 2 && length > guaranteedChars) {
-            int index = random.nextInt(LETTERS.length());
-            password.append(LETTERS.charAt(index));
-            guaranteedChars++;
-        }
-        if (complexity >= 3 && length > guaranteedChars) {
-            int index = random.nextInt(SYMBOLS.length());
-            password.append(SYMBOLS.charAt(index));
-            guaranteedChars++;
-        }
-
-        for (int i = guaranteedChars; i < length; i++) {
-            int index = random.nextInt(characters.length());
-            password.append(characters.charAt(index));
-        }
-
-        char[] passwordArray = password.toString().toCharArray();
-        for (int i = passwordArray.length - 1; i > 0; i--) {
-            int j = random.nextInt(i + 1);
-            char temp = passwordArray[i];
-            passwordArray[i] = passwordArray[j];
-            passwordArray[j] = temp;
-        }
-
-        String generatedPassword = new String(passwordArray);
-        passwordCache.putGeneratedPassword(cacheKey, generatedPassword);
         return generatedPassword;
     }
 
@@ -95,22 +73,17 @@ public class PasswordService {
             return List.of();
         }
 
-        String cacheKey = requests.stream()
-                .filter(Objects::nonNull)
-                .map(req -> req.getLength() + "_" + req.getComplexity() + "_" + req.getOwner())
-                .collect(Collectors.joining("|"));
-
-        Optional<List<String>> cachedPasswords = passwordCache.getBulkPasswords(cacheKey);
-        if (cachedPasswords.isPresent()) {
-            return cachedPasswords.get();
-        }
-
-        List<String> generatedPasswords = requests.stream()
+        List<PasswordGenerationRequest> validRequests = requests.stream()
                 .filter(Objects::nonNull)
-                .map(request -> generatePassword(request.getLength(), request.getComplexity(), request.getOwner()))
                 .collect(Collectors.toList());
-
-        passwordCache.putBulkPasswords(cacheKey, generatedPasswords);
+        // Проверяем весь пакет до генерации, чтобы ошибка не приходила из рабочего потока пула
+        validRequests.forEach(request ->
+                validateGenerationParameters(request.getLength(), request.getComplexity()));
+        List<String> generatedPasswords = inBulkPool(validRequests.size(), parallel ->
+                (parallel ? validRequests.parallelStream() : validRequests.stream())
+                        .map(request -> generatePassword(request.getLength(), request.getComplexity(),
+                                request.getOwner()))
+                        .collect(Collectors.toList()));
 
         List<Password> passwordsToSave = new ArrayList<>();
         int passwordIndex = 0;
@@ -125,46 +98,74 @@ public class PasswordService {
         return generatedPasswords;
     }
 
+    /**
+     * Потоковая генерация: запросы читаются по одному, каждый пароль сразу отдаётся в {@code sink},
+     * а сохранение идёт пачками по {@code password.bulk.stream-batch-size}. Пока пачка сохраняется,
+     * следующие запросы не читаются, поэтому расход памяти не зависит от размера всего пакета.
+     * Пароли генерируются вызовом внутри сервиса, мимо RequestCounterAspect, поэтому каждый запрос
+     * учитывается в счётчиках здесь, как элемент пакетной генерации.
+     */
+    public void generatePasswordsStream(Iterator<PasswordGenerationRequest> requests, Consumer<String> sink) {
+        List<Password> batch = new ArrayList<>(streamBatchSize);
+        try {
+            while (requests.hasNext()) {
+                PasswordGenerationRequest request = requests.next();
+                if (request == null) {
+                    continue;
+                }
+                RequestCounter.record(RequestCounter.Endpoint.GENERATE_BULK,
+                        request.getComplexity(), request.getLength());
+                String password =
+                        generatePassword(request.getLength(), request.getComplexity(), request.getOwner());
+                sink.accept(password);
+                batch.add(new Password(password, request.getOwner()));
+                if (batch.size() >= streamBatchSize) {
+                    createBulk(batch);
+                    batch = new ArrayList<>(streamBatchSize);
+                }
+            }
+        } finally {
+            // Уже отданные клиенту пароли сохраняются даже при ошибке в середине потока
+            if (!batch.isEmpty()) {
+                createBulk(batch);
+            }
+        }
+    }
+
     public Password create(Password password) {
         String plainPassword = password.getPassword();
         String hashedPassword = passwordEncoder.encode(plainPassword);
         password.setPassword(hashedPassword);
         Password saved = passwordRepository.save(password);
-        passwordCache.clearDatabaseCache();
+        evictPasswords(List.of(saved.getId()));
         return saved;
     }
 
-    public List<Password> findAll() {
-        Optional<List<Password>> cachedPasswords = passwordCache.getAllPasswords();
-        if (cachedPasswords.isPresent()) {
-            return cachedPasswords.get();
-        }
-        List<Password> passwords = passwordRepository.findAll();
-        passwordCache.putAllPasswords(passwords);
-        return passwords;
+    public KeysetPage<Password> findAll(String cursor, int limit) {
+        PageCursor.validateLimit(limit);
+        long afterId = PageCursor.decode(cursor);
+        return passwordCache.getPage(afterId, limit, () -> {
+            List<Password> rows =
+                    passwordRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+            return KeysetPage.fromOverfetch(rows, limit, Password::getId);
+        });
     }
 
     public List<Password> createBulk(List<Password> passwords) {
-        List<Password> savedPasswords = passwords.stream()
-                .map(password -> {
-                    String plainPassword = password.getPassword();
-                    String hashedPassword = passwordEncoder.encode(plainPassword);
-                    password.setPassword(hashedPassword);
-                    return passwordRepository.save(password);
-                })
-                .collect(Collectors.toList());
-        passwordCache.clearDatabaseCache();
+        // Хэширование идёт параллельно, а запись в БД остаётся в потоке запроса
+        inBulkPool(passwords.size(), parallel -> {
+            (parallel ? passwords.parallelStream() : passwords.stream())
+                    .forEach(password -> password.setPassword(
+                            passwordEncoder.encode(password.getPassword())));
+            return null;
+        });
+        List<Password> savedPasswords = passwordRepository.saveAll(passwords);
+        evictPasswords(savedPasswords.stream().map(Password::getId).toList());
         return savedPasswords;
     }
 
     public Optional<Password> findById(Long id) {
-        Optional<Password> cachedPassword = passwordCache.getPasswordById(id);
-        if (cachedPassword.isPresent()) {
-            return cachedPassword;
-        }
-        Optional<Password> password = passwordRepository.findById(id);
-        password.ifPresent(p -> passwordCache.putPasswordById(id, p));
-        return password;
+        return passwordCache.getPasswordById(id, () -> passwordRepository.findById(id).orElse(null));
     }
 
     public Password update(Password password) {
@@ -172,22 +173,58 @@ public class PasswordService {
         String hashedPassword = passwordEncoder.encode(plainPassword);
         password.setPassword(hashedPassword);
         Password saved = passwordRepository.save(password);
-        passwordCache.clearDatabaseCache();
+        evictPasswords(List.of(saved.getId()));
         return saved;
     }
 
     public void delete(Long id) {
         passwordRepository.deleteById(id);
-        passwordCache.clearDatabaseCache();
+        evictPasswords(List.of(id));
+    }
+
+    // Список кэшируется по имени тега в passwords.by-tag, индекс тегов по имени здесь не нужен
+    public List<PasswordTagView> findPasswordsByTagName(String tagName) {
+        return passwordCache.getPasswordsByTag(tagName,
+                () -> PasswordTagView.fromRows(passwordRepository.findPasswordTagRowsByTagName(tagName)));
     }
 
-    public List<Password> findPasswordsByTagName(String tagName) {
-        Optional<List<Password>> cachedPasswords = passwordCache.getPasswordsByTag(tagName);
-        if (cachedPasswords.isPresent()) {
-            return cachedPasswords.get();
+    // Сначала свой узел, затем остальные через шину
+    private void evictPasswords(List<Long> ids) {
+        passwordCache.evictPasswords(ids);
+        invalidationBus.publishPasswords(ids);
+    }
+
+    private void validateGenerationParameters(int length, int complexity) {
+        if (length < PasswordGeneratorEngine.MIN_LENGTH || length > PasswordGeneratorEngine.MAX_LENGTH) {
+            throw new IllegalArgumentException("Длина пароля должна быть от 4 до 30 символов.");
         }
-        List<Password> passwords = passwordRepository.findPasswordsByTagName(tagName);
-        passwordCache.putPasswordsByTag(tagName, passwords);
-        return passwords;
+        if (complexity < PasswordGeneratorEngine.MIN_COMPLEXITY
+                || complexity > PasswordGeneratorEngine.MAX_COMPLEXITY) {
+            throw new IllegalArgumentException("Уровень сложности должен быть от 1 до 3.");
+        }
+    }
+
+    // Параллельный стрим, запущенный из задачи пула, исполняется в этом же пуле и сохраняет порядок
+    private <T> T inBulkPool(int size, BulkTask<T> task) {
+        if (size < parallelThreshold) {
+            return task.run(false);
+        }
+        Callable<T> callable = () -> task.run(true);
+        try {
+            return bulkGenerationPool.submit(callable).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Массовая генерация прервана", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface BulkTask<T> {
+        T run(boolean parallel);
     }
-}
\ No newline at end of file
+}
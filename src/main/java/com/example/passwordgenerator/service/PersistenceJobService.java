@@ -0,0 +1,207 @@
+package com.example.passwordgenerator.service;
+
+import com.example.passwordgenerator.dto.PersistenceJobStatus;
+import com.example.passwordgenerator.dto.PersistenceJobStatus.State;
+import com.example.passwordgenerator.dto.PersistenceQueueStats;
+import com.example.passwordgenerator.entity.Password;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Асинхронное сохранение паролей: хэширование и запись в БД выполняются ограниченным пулом,
+ * а вызывающий сразу получает идентификатор задания. Очередь ограничена, при переполнении
+ * задание отклоняется с {@link RejectedExecutionException}. При остановке приложения
+ * уже принятые задания дорабатываются.
+ */
+@Service
+public class PersistenceJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceJobService.class);
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final PasswordService passwordService;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final int jobRetention;
+    private final long shutdownTimeoutSeconds;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    public PersistenceJobService(PasswordService passwordService,
+                                 @Value("${password.async.workers:2}") int workers,
+                                 @Value("${password.async.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${password.async.chunk-size:100}") int chunkSize,
+                                 @Value("${password.async.job-retention:1000}") int jobRetention,
+                                 @Value("${password.async.shutdown-timeout-seconds:30}")
+                                 long shutdownTimeoutSeconds) {
+        this.passwordService = passwordService;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        this.jobRetention = jobRetention;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Обработчик по умолчанию (AbortPolicy) отклоняет задание при заполненной очереди
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "password-persist-" + threadNumber.incrementAndGet()));
+    }
+
+    public PersistenceJobStatus submitCreate(Password password) {
+        return submit(List.of(password), chunk -> List.of(passwordService.create(chunk.get(0))));
+    }
+
+    public PersistenceJobStatus submitUpdate(Password password) {
+        return submit(List.of(password), chunk -> List.of(passwordService.update(chunk.get(0))));
+    }
+
+    public PersistenceJobStatus submitBulk(List<Password> passwords) {
+        return submit(passwords, passwordService::createBulk);
+    }
+
+    public Optional<PersistenceJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    public PersistenceQueueStats getStats() {
+        long done = completed.sum() + failed.sum();
+        return new PersistenceQueueStats(executor.getQueue().size(), queueCapacity, executor.getActiveCount(),
+                submitted.sum(), completed.sum(), failed.sum(), rejected.sum(),
+                average(queueWaitNanos, done), TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get()),
+                average(processingNanos, done), TimeUnit.NANOSECONDS.toMillis(maxProcessingNanos.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = executor.shutdownNow();
+                logger.warn("Очередь сохранения не успела опустеть, отменено заданий: {}", dropped.size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PersistenceJobStatus submit(List<Password> passwords,
+                                        Function<List<Password>, List<Password>> action) {
+        Job job = new Job(UUID.randomUUID().toString(), passwords.size());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, passwords, action));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.increment();
+            throw new RejectedExecutionException(
+                    "Очередь сохранения переполнена, повторите запрос позже.", e);
+        }
+        submitted.increment();
+        return job.snapshot();
+    }
+
+    private void run(Job job, List<Password> passwords, Function<List<Password>, List<Password>> action) {
+        long startedAt = System.nanoTime();
+        record(queueWaitNanos, maxQueueWaitNanos, startedAt - job.submittedNanos);
+        job.state = State.RUNNING;
+        try {
+            for (int from = 0; from < passwords.size(); from += chunkSize) {
+                List<Password> chunk = passwords.subList(from, Math.min(from + chunkSize, passwords.size()));
+                for (Password saved : action.apply(chunk)) {
+                    job.ids.add(saved.getId());
+                }
+                job.processed.addAndGet(chunk.size());
+            }
+            job.state = State.COMPLETED;
+            completed.increment();
+        } catch (RuntimeException e) {
+            logger.error("Задание сохранения {} завершилось ошибкой", job.id, e);
+            job.error = e.getMessage();
+            job.state = State.FAILED;
+            failed.increment();
+        } finally {
+            job.completedAt = Instant.now();
+            record(processingNanos, maxProcessingNanos, System.nanoTime() - startedAt);
+            retire(job.id);
+        }
+    }
+
+    // Храним ограниченное число завершённых заданий, чтобы карта статусов не росла бесконечно
+    private void retire(String jobId) {
+        finishedJobs.add(jobId);
+        while (finishedJobs.size() > jobRetention) {
+            String oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+
+    private static void record(LongAdder total, AtomicLong max, long nanos) {
+        total.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static double average(LongAdder totalNanos, long count) {
+        return count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    private static final class Job {
+        private final String id;
+        private final int total;
+        private final long submittedNanos = System.nanoTime();
+        private final Instant submittedAt = Instant.now();
+        private final List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger processed = new AtomicInteger();
+        private volatile State state = State.QUEUED;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private Job(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        private PersistenceJobStatus snapshot() {
+            List<Long> idsCopy;
+            synchronized (ids) {
+                idsCopy = new ArrayList<>(ids);
+            }
+            return new PersistenceJobStatus(id, state, total, processed.get(), idsCopy, error,
+                    submittedAt, completedAt);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
+import com.example.passwordgenerator.cache.PasswordCache;
 import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PageCursor;
 import com.example.passwordgenerator.entity.Tag;
 import com.example.passwordgenerator.repository.TagRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,46 +18,58 @@ public class TagService {
 
     private final TagRepository tagRepository;
     private final TagCache tagCache;
+    private final PasswordCache passwordCache;
+    private final ClusterInvalidationBus invalidationBus;
 
-    public TagService(TagRepository tagRepository, TagCache tagCache) {
+    public TagService(TagRepository tagRepository, TagCache tagCache, PasswordCache passwordCache,
+                      ClusterInvalidationBus invalidationBus) {
         this.tagRepository = tagRepository;
         this.tagCache = tagCache;
+        this.passwordCache = passwordCache;
+        this.invalidationBus = invalidationBus;
     }
 
-    public List<Tag> findAll() {
-        Optional<List<Tag>> cachedTags = tagCache.getAllTags();
-        if (cachedTags.isPresent()) {
-            return cachedTags.get();
-        }
-        List<Tag> tags = tagRepository.findAll();
-        tagCache.putAllTags(tags);
-        return tags;
+    public KeysetPage<Tag> findAll(String cursor, int limit) {
+        PageCursor.validateLimit(limit);
+        long afterId = PageCursor.decode(cursor);
+        return tagCache.getPage(afterId, limit, () -> {
+            List<Tag> rows = tagRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+            return KeysetPage.fromOverfetch(rows, limit, Tag::getId);
+        });
     }
 
     public Optional<Tag> findById(Long id) {
-        Optional<Tag> cachedTag = tagCache.getTagById(id);
-        if (cachedTag.isPresent()) {
-            return cachedTag;
-        }
-        Optional<Tag> tag = tagRepository.findById(id);
-        tag.ifPresent(t -> tagCache.putTagById(id, t));
-        return tag;
+        return tagCache.getTagById(id, () -> tagRepository.findById(id).orElse(null));
+    }
+
+    public Optional<Tag> findByName(String name) {
+        return tagCache.getTagByName(name,
+                () -> tagRepository.findFirstByNameOrderByIdAsc(name).orElse(null),
+                id -> tagRepository.findById(id).orElse(null));
     }
 
     public Tag create(Tag tag) {
         Tag saved = tagRepository.save(tag);
-        tagCache.clearCache();
+        evictTag(saved.getId(), saved.getName());
         return saved;
     }
 
     public Tag update(Tag tag) {
         Tag saved = tagRepository.save(tag);
-        tagCache.clearCache();
+        evictTag(saved.getId(), saved.getName());
         return saved;
     }
 
     public void delete(Long id) {
         tagRepository.deleteById(id);
-        tagCache.clearCache();
+        evictTag(id, null);
+    }
+
+    // Запись тега меняет и его собственные записи, и списки паролей по тегам
+    private void evictTag(long id, String name) {
+        tagCache.evictTag(id, name);
+        passwordCache.evictTagLists();
+        invalidationBus.publishTag(id, name);
+        invalidationBus.publishTagLists();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package com.example.passwordgenerator.aspect;
+
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.entity.Tag;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.PasswordReservoir;
+import com.example.passwordgenerator.generator.SecureRandomEntropySource;
+import com.example.passwordgenerator.metrics.LatencyRegistry;
+import com.example.passwordgenerator.metrics.PasswordMetrics;
+import com.example.passwordgenerator.repository.PasswordRepository;
+import com.example.passwordgenerator.repository.TagRepository;
+import com.example.passwordgenerator.service.PasswordService;
+import com.example.passwordgenerator.service.TagService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LatencyAspectTest {
+
+    private LatencyRegistry registry;
+    private TagRepository tagRepository;
+    private MeterRegistry meterRegistry;
+    private PasswordMetrics passwordMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new LatencyRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        passwordMetrics = new PasswordMetrics(meterRegistry, "bcrypt");
+        tagRepository = mock(TagRepository.class);
+    }
+
+    @Test
+    public void testServiceCallRecorded() {
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(new Tag("work")));
+        TagService tagService = proxy(tagService(), new LatencyAspect(registry, passwordMetrics, true));
+
+        tagService.findById(1L);
+        tagService.findById(1L);
+
+        assertEquals(2, registry.getStatsByName("service:TagService.findById").orElseThrow().getCount());
+    }
+
+    @Test
+    public void testFailedCallRecorded() {
+        when(tagRepository.findById(1L)).thenThrow(new IllegalStateException("БД недоступна"));
+        TagService tagService = proxy(tagService(), new LatencyAspect(registry, passwordMetrics, true));
+
+        assertThrows(IllegalStateException.class, () -> tagService.findById(1L));
+
+        assertEquals(1, registry.getStatsByName("service:TagService.findById").orElseThrow().getCount(),
+                "Задержка должна записываться и для завершившихся ошибкой вызовов");
+    }
+
+    @Test
+    public void testRepositoryNamedByInterface() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(tagRepository);
+        factory.addInterface(TagRepository.class);
+        factory.addAspect(new LatencyAspect(registry, passwordMetrics, true));
+        TagRepository repository = factory.getProxy();
+
+        repository.findById(1L);
+
+        assertTrue(registry.getStatsByName("repository:TagRepository.findById").isPresent(),
+                "Унаследованные методы репозитория должны замеряться под именем интерфейса");
+    }
+
+    @Test
+    public void testGenerationRecordedToMicrometer() {
+        LatencyAspect aspect = new LatencyAspect(registry, passwordMetrics, true);
+        PasswordGeneratorEngine engine = proxy(
+                new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256)),
+                aspect);
+        PasswordService passwordService = proxy(new PasswordService(mock(PasswordRepository.class),
+                mock(PasswordCache.class), mock(ClusterInvalidationBus.class), mock(PasswordEncoder.class),
+                engine, mock(PasswordReservoir.class), ForkJoinPool.commonPool(), 64, 500), aspect);
+
+        passwordService.generatePassword(12, 2, "user1");
+        passwordService.generatePassword(12, 2, "user1");
+        // Так движок вызывает поток пополнения резервуара — мимо сервиса
+        engine.generate(12, 2);
+
+        assertEquals(2, meterRegistry.get("password.generation").tag("complexity", "2").timer().count(),
+                "Генерация вне запроса не должна попадать в таймер");
+        assertEquals(2, registry.getStatsByName("service:PasswordService.generatePassword")
+                .orElseThrow().getCount());
+    }
+
+    @Test
+    public void testMatchesTaggedByStoredHashAlgorithm() {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(4),
+                "argon2", new Argon2PasswordEncoder(16, 32, 1, 1024, 1));
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("argon2", encoders);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        AspectJProxyFactory factory = new AspectJProxyFactory(delegating);
+        factory.addInterface(PasswordEncoder.class);
+        factory.addAspect(new LatencyAspect(registry, passwordMetrics, true));
+        PasswordEncoder encoder = factory.getProxy();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        encoder.matches("secret", "{bcrypt}" + legacyHash);
+        encoder.matches("secret", legacyHash);
+        encoder.matches("secret", encoder.encode("secret"));
+
+        assertEquals(2, meterRegistry.get("password.hashing")
+                .tags("algorithm", "bcrypt", "operation", "matches").timer().count(),
+                "Хэш BCrypt должен учитываться как bcrypt, даже если новые пароли хэшируются Argon2");
+        assertEquals(1, meterRegistry.get("password.hashing")
+                .tags("algorithm", "argon2", "operation", "matches").timer().count());
+    }
+
+    @Test
+    public void testMatchesWithUnknownPrefixTaggedOther() {
+        passwordMetrics.recordMatches("{md4}abc", 1_000);
+        passwordMetrics.recordMatches("{bcrypt", 1_000);
+        assertEquals(2, meterRegistry.get("password.hashing")
+                .tags("algorithm", "other", "operation", "matches").timer().count());
+    }
+
+    @Test
+    public void testDisabled() {
+        TagService tagService = proxy(tagService(), new LatencyAspect(registry, passwordMetrics, false));
+
+        tagService.findById(1L);
+
+        assertTrue(registry.getStats(null).isEmpty());
+    }
+
+    private TagService tagService() {
+        CacheRegionFactory regions = new CacheRegionFactory(new StandardEnvironment());
+        return new TagService(tagRepository, new TagCache(regions), new PasswordCache(regions),
+                mock(ClusterInvalidationBus.class));
+    }
+
+    private static <T> T proxy(T target, LatencyAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.passwordgenerator.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.classic.AsyncAppender;
+import com.example.passwordgenerator.controller.PasswordController;
+import com.example.passwordgenerator.service.PasswordService;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Пропускная способность контроллера пакетной генерации под журналированием: прежний аспект
+ * (конкатенация и toString всего ответа на INFO), новый аспект с синхронным аппендером и с AsyncAppender.
+ * Вывод форматируется шаблоном и уходит в пустой поток. Запуск: {@code mvn test -Pbenchmark}.
+ */
+public class LoggingAspectBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int CALLS = 20_000;
+    private static final int PASSWORDS_PER_RESPONSE = 1000;
+
+    // Не даёт JIT выбросить результат вызова
+    private static volatile int blackhole;
+
+    @Test
+    public void compareThroughput() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger legacyLogger = context.getLogger(LegacyLoggingAspect.class);
+        Logger aspectLogger = context.getLogger(LoggingAspect.class);
+        Appender<ILoggingEvent> sync = nullAppender(context);
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sync);
+        async.start();
+
+        PasswordService passwordService = mock(PasswordService.class, withSettings().stubOnly());
+        List<String> passwords = IntStream.range(0, PASSWORDS_PER_RESPONSE)
+                .mapToObj(i -> "Pa55word-" + i + "-xxxxxxxx").toList();
+        when(passwordService.generatePasswordsBulk(any())).thenReturn(passwords);
+        PasswordController target =
+                new PasswordController(passwordService);
+        PasswordController legacy = proxy(target, new LegacyLoggingAspect());
+        PasswordController sampled = proxy(target,
+                new LoggingAspect("generatePassword,generatePasswordsBulk,getAll", 100, 64));
+        PasswordController unsampled = proxy(target, new LoggingAspect("", 100, 64));
+
+        // Первый проход прогревает JIT, печатается второй
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            measure("без аспекта", target, print);
+            route(legacyLogger, sync);
+            measure("прежний аспект, синхронный аппендер", legacy, print);
+            route(legacyLogger, async);
+            measure("прежний аспект, AsyncAppender", legacy, print);
+            route(aspectLogger, sync);
+            measure("новый аспект без выборки, синхронный аппендер", unsampled, print);
+            measure("новый аспект, выборка 1/100, синхронный аппендер", sampled, print);
+            route(aspectLogger, async);
+            measure("новый аспект без выборки, AsyncAppender", unsampled, print);
+            measure("новый аспект, выборка 1/100, AsyncAppender", sampled, print);
+        }
+        async.stop();
+        sync.stop();
+    }
+
+    private static void measure(String label, PasswordController controller, boolean print) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += controller.generatePasswordsBulk(List.of()).getBody().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += controller.generatePasswordsBulk(List.of()).getBody().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = sink;
+        if (print) {
+            System.out.printf("generate-bulk (%d паролей), %s: %.0f вызовов/с, %.2f мкс/вызов%n",
+                    PASSWORDS_PER_RESPONSE, label, CALLS * 1e9 / elapsed, elapsed / 1e3 / CALLS);
+        }
+    }
+
+    private static void route(Logger logger, Appender<ILoggingEvent> appender) {
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    private static Appender<ILoggingEvent> nullAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level [%thread] %logger{39} : %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private static PasswordController proxy(PasswordController target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    // Прежняя реализация LoggingAspect для сравнения
+    @Aspect
+    static class LegacyLoggingAspect {
+
+        private static final org.slf4j.Logger logger = LoggerFactory.getLogger(LegacyLoggingAspect.class);
+
+        @Before("execution(* com.example.passwordgenerator.controller.*.*(..))")
+        public void logBefore(JoinPoint joinPoint) {
+            logger.info("Вызван метод: " + joinPoint.getSignature().getName());
+        }
+
+        @AfterReturning(pointcut = "execution(* com.example.passwordgenerator.controller.*.*(..))",
+                returning = "result")
+        public void logAfterReturning(JoinPoint joinPoint, Object result) {
+            logger.info("Метод " + joinPoint.getSignature().getName() + " завершился с результатом: " + result);
+        }
+
+        @AfterThrowing(pointcut = "execution(* com.example.passwordgenerator.controller.*.*(..))",
+                throwing = "error")
+        public void logAfterThrowing(JoinPoint joinPoint, Throwable error) {
+            logger.error("Ошибка в методе " + joinPoint.getSignature().getName() + ": " + error.getMessage());
+        }
+    }
+}
@@ -1,25 +1,55 @@
 package com.example.passwordgenerator.aspect;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.passwordgenerator.controller.PasswordController;
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.entity.Password;
 import com.example.passwordgenerator.service.PasswordService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class LoggingAspectTest {
 
+    private static final String HOT_METHODS = "generatePassword,generatePasswordsBulk,getAll";
+
     @Mock
     private PasswordService passwordService;
 
-    @InjectMocks
     private LoggingAspect loggingAspect;
+    private Logger aspectLogger;
+    private Level previousLevel;
+    private ListAppender<ILoggingEvent> appender;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        loggingAspect = new LoggingAspect(HOT_METHODS, 100, 64);
+        aspectLogger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+        previousLevel = aspectLogger.getLevel();
+        appender = new ListAppender<>();
+        appender.start();
+        aspectLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        aspectLogger.detachAppender(appender);
+        aspectLogger.setLevel(previousLevel);
     }
 
     @Test
@@ -28,4 +58,86 @@ public class LoggingAspectTest {
         passwordService.generatePassword(8, 2, "testUser");
         verify(passwordService, times(1)).generatePassword(8, 2, "testUser");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testColdMethodLoggedAtInfo() {
+        aspectLogger.setLevel(Level.INFO);
+        when(passwordService.findById(1L)).thenReturn(Optional.of(new Password("secret", "owner")));
+
+        controller(loggingAspect).getById(1L);
+
+        assertEquals(1, appender.list.size(), "Каждый вызов негорячего метода должен попадать в журнал");
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("method=getById outcome=ok"), message);
+        assertFalse(message.contains("secret"), "На INFO результат выводиться не должен");
+    }
+
+    @Test
+    public void testHotMethodSampledAtInfo() {
+        aspectLogger.setLevel(Level.INFO);
+        when(passwordService.generatePassword(8, 2, "u")).thenReturn("p");
+        PasswordController controller = controller(new LoggingAspect(HOT_METHODS, 1_000_000, 64));
+
+        for (int i = 0; i < 10; i++) {
+            controller.generatePassword(8, 2, "u");
+        }
+
+        assertTrue(appender.list.size() < 10, "Горячий метод должен журналироваться выборочно");
+    }
+
+    @Test
+    public void testDebugMasksGeneratedPasswords() {
+        aspectLogger.setLevel(Level.DEBUG);
+        when(passwordService.generatePassword(12, 3, "alice")).thenReturn("Xy9#plaintext");
+        when(passwordService.generatePasswordsBulk(any())).thenReturn(List.of("bulkSecret1", "bulkSecret2"));
+        PasswordController controller = controller(loggingAspect);
+
+        controller.generatePassword(12, 3, "alice");
+        controller.generatePasswordsBulk(List.of(new PasswordGenerationRequest(8, 1, "bob")));
+
+        String log = appender.list.stream().map(ILoggingEvent::getFormattedMessage).reduce("", String::concat);
+        assertFalse(log.contains("plaintext"), "Сгенерированный пароль не должен попадать в журнал");
+        assertFalse(log.contains("bulkSecret"), "Пароли пакета не должны попадать в журнал");
+        assertTrue(log.contains("args=[12, 3, alice]"), log);
+        assertTrue(log.contains("ResponseEntity(status=200, body=***("), log);
+        assertTrue(log.contains("(size=2)"), log);
+    }
+
+    @Test
+    public void testErrorAlwaysLogged() {
+        aspectLogger.setLevel(Level.INFO);
+        when(passwordService.generatePassword(8, 2, "u")).thenThrow(new IllegalArgumentException("x".repeat(500)));
+        PasswordController controller = controller(new LoggingAspect(HOT_METHODS, 1_000_000, 64));
+
+        assertThrows(IllegalArgumentException.class, () -> controller.generatePassword(8, 2, "u"));
+
+        assertEquals(1, appender.list.size(), "Ошибки не должны отбрасываться выборкой");
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.ERROR, event.getLevel());
+        assertTrue(event.getFormattedMessage().contains("error=IllegalArgumentException"));
+        assertTrue(event.getFormattedMessage().length() < 200, "Сообщение ошибки должно обрезаться");
+    }
+
+    @Test
+    public void testDescribeTruncatesAndHidesObjects() {
+        LoggingAspect aspect = new LoggingAspect("", 1, 8);
+        assertEquals("abcdefgh…(10)", aspect.describe("abcdefghij", false));
+        assertEquals("***(10)", aspect.describe("abcdefghij", true));
+        assertEquals("Password", aspect.describe(new Password("secret", "owner"), false));
+        assertEquals("null", aspect.describe(null, true));
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LoggingAspect("", 0, 64));
+    }
+
+    private PasswordController controller(LoggingAspect aspect) {
+        PasswordController target =
+                new PasswordController(passwordService);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -38,10 +39,13 @@ public class RequestCounterAspectTest {
     public void testSinglePasswordGeneration() {
         when(joinPoint.getSignature()).thenReturn(signature);
         when(signature.getName()).thenReturn("generatePassword");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{12, 2, "user1"});
 
         aspect.countPasswordGeneration(joinPoint);
 
         assertEquals(1, RequestCounter.getCount());
+        assertEquals(1, RequestCounter.getBreakdown().size());
+        assertEquals("8-15", RequestCounter.getBreakdown().get(0).getLengthBucket());
     }
 
     @Test
@@ -58,6 +62,8 @@ public class RequestCounterAspectTest {
         aspect.countPasswordGeneration(joinPoint);
 
         assertEquals(2, RequestCounter.getCount());
+        assertTrue(RequestCounter.getBreakdown().stream()
+                .allMatch(stats -> stats.getEndpoint().equals("generate-bulk")));
     }
 
     @Test
@@ -0,0 +1,225 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheRegionTest {
+
+    @Test
+    public void testSizeIsBounded() {
+        CacheRegion<Integer, String> region = new CacheRegion<>("test", 100, Duration.ZERO);
+        for (int i = 0; i < 10_000; i++) {
+            region.put(i, "value" + i);
+        }
+        region.cleanUp();
+        assertTrue(region.size() <= 100, "Область не должна превышать заданный размер: " + region.size());
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        CacheRegion<String, String> region =
+                new CacheRegion<>("test", 10, Duration.ofMinutes(5), RefreshAhead.DISABLED, ticker);
+        region.put("key", "value");
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals("value", region.get("key").orElse(null));
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertTrue(region.get("key").isEmpty(), "Запись должна истечь по TTL");
+    }
+
+    @Test
+    public void testFactoryReadsRegionSettings() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("cache.region.passwords.by-id.max-size", "42")
+                .withProperty("cache.region.passwords.by-id.ttl", "30s");
+        CacheRegion<Long, String> configured =
+                new CacheRegionFactory(environment).create("passwords.by-id", 1000, Duration.ofMinutes(10));
+        assertEquals(42, configured.getMaxSize());
+        assertEquals(Duration.ofSeconds(30), configured.getTtl());
+
+        CacheRegion<Long, String> defaults = new CacheRegionFactory(new StandardEnvironment())
+                .create("passwords.by-id", 1000, Duration.ofMinutes(10));
+        assertEquals(1000, defaults.getMaxSize());
+        assertEquals(Duration.ofMinutes(10), defaults.getTtl());
+    }
+
+    @Test
+    public void testStatsAndResize() {
+        CacheRegion<Integer, String> region = new CacheRegion<>("test", 100, Duration.ofMinutes(1));
+        for (int i = 0; i < 50; i++) {
+            region.getOrLoad(i, key -> "value" + key);
+        }
+        region.getOrLoad(0, key -> "other");
+        region.get(1000);
+
+        CacheRegionStats stats = region.getStats();
+        assertEquals(50, stats.getEntries());
+        assertEquals(50, stats.getLoads());
+        assertEquals(1, stats.getHits());
+        assertEquals(51, stats.getMisses());
+        assertEquals(60, stats.getTtlSeconds());
+        assertTrue(stats.getEstimatedBytes() > 50 * 40, "Оценка объёма должна учитывать строки");
+
+        region.resize(10);
+        region.cleanUp();
+        stats = region.getStats();
+        assertEquals(10, stats.getMaxSize());
+        assertTrue(stats.getEntries() <= 10, "После уменьшения лишние записи вытесняются: " + stats.getEntries());
+        assertTrue(stats.getEvictions() >= 40);
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        CacheRegion<String, String> region = new CacheRegion<>("test", 10, Duration.ZERO);
+        AtomicInteger sourceCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> region.getOrLoad("key", key -> {
+                    sourceCalls.incrementAndGet();
+                    awaitQuietly(release);
+                    return "value";
+                })));
+            }
+            // Ждём, пока все, кроме загружающего, встанут в ожидание его результата
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (region.getCoalescedLoads() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, sourceCalls.get(), "Источник должен вызываться один раз на ключ");
+        assertEquals(1, region.getLoads());
+        assertEquals(callers - 1, region.getCoalescedLoads());
+    }
+
+    @Test
+    public void testLoadFailureReachesCaller() {
+        CacheRegion<String, String> region = new CacheRegion<>("test", 10, Duration.ZERO);
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> region.getOrLoad("key", key -> {
+                    throw new IllegalStateException("БД недоступна");
+                }));
+        assertEquals("БД недоступна", thrown.getMessage());
+        assertEquals("value", region.getOrLoad("key", key -> "value"), "После ошибки ключ загружается заново");
+    }
+
+    @Test
+    public void testLoadRacingInvalidationIsNotCached() {
+        CacheRegion<String, String> region = new CacheRegion<>("test", 10, Duration.ZERO);
+        String loaded = region.getOrLoad("key", key -> {
+            region.invalidate(key);
+            return "stale";
+        });
+        assertEquals("stale", loaded);
+        assertTrue(region.get("key").isEmpty(), "Значение, прочитанное до инвалидации, не кэшируется");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testHotEntryIsRefreshedBeforeExpiry() {
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        RefreshAhead refreshAhead = new RefreshAhead(0.8, 3, pending::add, new Semaphore(1));
+        CacheRegion<String, String> region =
+                new CacheRegion<>("test", 10, Duration.ofMinutes(10), refreshAhead, nanos::get);
+        AtomicInteger version = new AtomicInteger();
+        region.getOrLoad("key", key -> "v" + version.incrementAndGet());
+
+        // Молодая запись не обновляется даже при частых обращениях
+        for (int i = 0; i < 5; i++) {
+            region.getOrLoad("key", key -> "v" + version.incrementAndGet());
+        }
+        assertTrue(pending.isEmpty());
+
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertEquals("v1", region.getOrLoad("key", key -> "v" + version.incrementAndGet()),
+                "До завершения обновления читатель получает текущее значение");
+        region.getOrLoad("key", key -> "v" + version.incrementAndGet());
+        assertEquals(1, pending.size(), "Одновременно идёт не больше одного обновления ключа");
+
+        pending.remove(0).run();
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertEquals("v2", region.get("key").orElse(null), "Обновлённая запись живёт новый TTL");
+        assertEquals(1, region.getStats().getRefreshes());
+    }
+
+    @Test
+    public void testColdEntryIsNotRefreshed() {
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        RefreshAhead refreshAhead = new RefreshAhead(0.8, 3, pending::add, new Semaphore(1));
+        CacheRegion<String, String> region =
+                new CacheRegion<>("test", 10, Duration.ofMinutes(10), refreshAhead, nanos::get);
+        region.getOrLoad("key", key -> "v1");
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        region.getOrLoad("key", key -> "v2");
+        assertTrue(pending.isEmpty(), "Редко читаемая запись истекает обычным образом");
+    }
+
+    @Test
+    public void testRefreshIsSkippedWithoutFreePermit() {
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        Semaphore permits = new Semaphore(1);
+        RefreshAhead refreshAhead = new RefreshAhead(0.5, 1, pending::add, permits);
+        CacheRegion<String, String> region =
+                new CacheRegion<>("test", 10, Duration.ofMinutes(10), refreshAhead, nanos::get);
+        region.getOrLoad("a", key -> "a1");
+        region.getOrLoad("b", key -> "b1");
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        region.getOrLoad("a", key -> "a2");
+        region.getOrLoad("b", key -> "b2");
+        assertEquals(1, pending.size(), "Число параллельных обновлений ограничено разрешениями");
+        pending.remove(0).run();
+        assertEquals(1, permits.availablePermits(), "Разрешение возвращается после обновления");
+    }
+
+    @Test
+    public void testRefreshRacingInvalidationIsDropped() {
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        RefreshAhead refreshAhead = new RefreshAhead(0.5, 1, pending::add, new Semaphore(1));
+        CacheRegion<String, String> region =
+                new CacheRegion<>("test", 10, Duration.ofMinutes(10), refreshAhead, nanos::get);
+        region.getOrLoad("key", key -> "v1");
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        region.getOrLoad("key", key -> "stale");
+        region.invalidate("key");
+        pending.remove(0).run();
+        assertTrue(region.get("key").isEmpty(), "Обновление, начатое до инвалидации, не должно вернуть запись");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import com.example.passwordgenerator.repository.PasswordRepository;
+import com.example.passwordgenerator.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+public class CacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private PasswordRepository passwordRepository;
+    private TagRepository tagRepository;
+
+    @BeforeEach
+    public void setUp() {
+        passwordRepository = mock(PasswordRepository.class);
+        tagRepository = mock(TagRepository.class);
+    }
+
+    @Test
+    public void testRestoreKeepsOnlyEntriesMatchingDatabase() {
+        Path file = directory.resolve("snapshot.bin");
+        PasswordCache passwordCache = newPasswordCache();
+        TagCache tagCache = newTagCache();
+        passwordCache.getPasswordById(1L, () -> password(1L, "hash1"));
+        passwordCache.getPasswordById(2L, () -> password(2L, "hash2"));
+        passwordCache.getPasswordById(3L, () -> password(3L, "hash3"));
+        tagCache.getTagById(7L, () -> tag(7L, "work"));
+        snapshot(passwordCache, tagCache, file, true).save();
+        assertTrue(Files.exists(file));
+
+        // Пароль 2 изменён, пароль 3 удалён после снимка
+        when(passwordRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(password(1L, "hash1"), password(2L, "changed")));
+        when(tagRepository.findAllById(anyIterable())).thenReturn(List.of(tag(7L, "work")));
+        PasswordCache restoredPasswords = newPasswordCache();
+        TagCache restoredTags = newTagCache();
+        snapshot(restoredPasswords, restoredTags, file, true).restore();
+
+        assertTrue(restoredPasswords.getPasswordById(1L).isPresent(), "Неизменная запись должна загрузиться");
+        assertTrue(restoredPasswords.getPasswordById(2L).isEmpty(), "Изменённая запись должна отброситься");
+        assertTrue(restoredPasswords.getPasswordById(3L).isEmpty(), "Удалённая запись должна отброситься");
+        assertEquals("work", restoredTags.getTagById(7L).map(Tag::getName).orElse(null));
+        verify(passwordRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    public void testRestoreSkipsEntriesInvalidatedDuringValidation() {
+        Path file = directory.resolve("snapshot.bin");
+        PasswordCache passwordCache = newPasswordCache();
+        TagCache tagCache = newTagCache();
+        passwordCache.getPasswordById(1L, () -> password(1L, "hash1"));
+        tagCache.getTagById(7L, () -> tag(7L, "work"));
+        snapshot(passwordCache, tagCache, file, true).save();
+
+        PasswordCache restoredPasswords = newPasswordCache();
+        TagCache restoredTags = newTagCache();
+        // Запись в пароль и тег приходит, пока снимок сверяется с БД
+        when(passwordRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            restoredPasswords.evictPasswords(List.of(1L));
+            return List.of(password(1L, "hash1"));
+        });
+        when(tagRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            restoredTags.evictTag(7L, "work");
+            return List.of(tag(7L, "work"));
+        });
+        snapshot(restoredPasswords, restoredTags, file, true).restore();
+
+        assertTrue(restoredPasswords.getPasswordById(1L).isEmpty(),
+                "Прогрев не должен возвращать запись, инвалидированную во время сверки");
+        assertTrue(restoredTags.getTagById(7L).isEmpty(),
+                "Прогрев не должен возвращать тег, инвалидированный во время сверки");
+    }
+
+    @Test
+    public void testCorruptSnapshotIsIgnored() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Files.write(file, new byte[] {0x50, 0x47, 0x43, 0x53, 0, 0, 0, 1, 0, 0, 0, 5, 0, 0});
+        PasswordCache passwordCache = newPasswordCache();
+        snapshot(passwordCache, newTagCache(), file, true).restore();
+        verifyNoInteractions(passwordRepository);
+        assertEquals(0, passwordCache.getHotPasswords(10).size());
+    }
+
+    @Test
+    public void testDisabledSnapshotDoesNothing() {
+        Path file = directory.resolve("snapshot.bin");
+        PasswordCache passwordCache = newPasswordCache();
+        passwordCache.getPasswordById(1L, () -> password(1L, "hash1"));
+        snapshot(passwordCache, newTagCache(), file, false).save();
+        assertFalse(Files.exists(file));
+    }
+
+    private CacheSnapshot snapshot(PasswordCache passwordCache, TagCache tagCache, Path file, boolean enabled) {
+        return new CacheSnapshot(passwordCache, tagCache, passwordRepository, tagRepository,
+                enabled, file.toString(), 100);
+    }
+
+    private static PasswordCache newPasswordCache() {
+        return new PasswordCache(new CacheRegionFactory(new StandardEnvironment()));
+    }
+
+    private static TagCache newTagCache() {
+        return new TagCache(new CacheRegionFactory(new StandardEnvironment()));
+    }
+
+    private static Password password(long id, String hash) {
+        Password password = new Password(hash, "owner" + id);
+        password.setId(id);
+        return password;
+    }
+
+    private static Tag tag(long id, String name) {
+        Tag tag = new Tag(name);
+        tag.setId(id);
+        return tag;
+    }
+}
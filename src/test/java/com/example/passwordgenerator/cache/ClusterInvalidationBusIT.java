@@ -0,0 +1,145 @@
+package com.example.passwordgenerator.cache;
+
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Два узла шины на настоящем PostgreSQL: LISTEN, pg_notify и получение уведомлений, а также полная
+ * очистка кэшей после обрыва соединения слушателя. Не входит в обычный прогон.
+ * Запуск: {@code mvn test -Ppostgres-it -Dit.postgres.url=jdbc:postgresql://localhost:5432/passworddb
+ * -Dit.postgres.user=postgres -Dit.postgres.password=...}; пароль по умолчанию берётся из DB_PASSWORD.
+ * Для обрыва соединения пользователю нужно право pg_terminate_backend на свои сеансы.
+ */
+public class ClusterInvalidationBusIT {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private PGSimpleDataSource dataSource;
+    private String channel;
+    private PasswordCache passwordsA;
+    private PasswordCache passwordsB;
+    private TagCache tagsB;
+    private ClusterInvalidationBus busA;
+    private ClusterInvalidationBus busB;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getProperty("it.postgres.url", "jdbc:postgresql://localhost:5432/passworddb"));
+        dataSource.setUser(System.getProperty("it.postgres.user", "postgres"));
+        dataSource.setPassword(System.getProperty("it.postgres.password", System.getenv("DB_PASSWORD")));
+        // Свой канал на прогон, чтобы не пересекаться с запущенными узлами приложения
+        channel = "cache_invalidation_it_" + HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextInt());
+
+        CacheRegionFactory factory = new CacheRegionFactory(new StandardEnvironment());
+        passwordsA = new PasswordCache(factory);
+        passwordsB = new PasswordCache(factory);
+        tagsB = new TagCache(factory);
+        busA = new ClusterInvalidationBus(passwordsA, new TagCache(factory), mock(SecondLevelCache.class),
+                dataSource, true, channel, 20);
+        busB = new ClusterInvalidationBus(passwordsB, tagsB, mock(SecondLevelCache.class),
+                dataSource, true, channel, 20);
+        busA.start();
+        busB.start();
+        awaitTrue(() -> listeners() == 2, "Оба узла должны подписаться на канал");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        busA.stop();
+        busB.stop();
+    }
+
+    @Test
+    public void testEvictionPublishedOnOneNodeAppliedOnOther() {
+        passwordsA.getPasswordById(1L, () -> password(1L));
+        passwordsB.getPasswordById(1L, () -> password(1L));
+        passwordsB.getPasswordById(2L, () -> password(2L));
+
+        busA.publishPasswords(List.of(1L));
+
+        awaitTrue(() -> passwordsB.getPasswordById(1L).isEmpty(), "Узел B должен вытеснить пароль 1");
+        assertTrue(passwordsB.getPasswordById(2L).isPresent(), "Пароль 2 не должен затрагиваться");
+        assertTrue(passwordsA.getPasswordById(1L).isPresent(), "Узел не должен применять свои события");
+    }
+
+    @Test
+    public void testReconnectClearsCaches() throws SQLException {
+        passwordsB.getPasswordById(3L, () -> password(3L));
+        tagsB.getTagById(4L, () -> tag(4L));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+                             + "WHERE query = ? AND pid <> pg_backend_pid()")) {
+            statement.setString(1, "LISTEN " + channel);
+            statement.execute();
+        }
+
+        awaitTrue(() -> passwordsB.getPasswordById(3L).isEmpty() && tagsB.getTagById(4L).isEmpty(),
+                "После переподключения пропущенные события неизвестны, кэши должны очищаться");
+        awaitTrue(() -> listeners() == 2, "Узлы должны снова подписаться на канал");
+
+        passwordsB.getPasswordById(5L, () -> password(5L));
+        busA.publishPasswords(List.of(5L));
+        awaitTrue(() -> passwordsB.getPasswordById(5L).isEmpty(), "После переподключения события снова доходят");
+    }
+
+    private int listeners() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT count(*) FROM pg_stat_activity WHERE query = ?")) {
+            statement.setString(1, "LISTEN " + channel);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(message);
+            }
+        }
+    }
+
+    private static Password password(long id) {
+        Password password = new Password("hash" + id, "owner" + id);
+        password.setId(id);
+        return password;
+    }
+
+    private static Tag tag(long id) {
+        Tag tag = new Tag("tag" + id);
+        tag.setId(id);
+        return tag;
+    }
+}
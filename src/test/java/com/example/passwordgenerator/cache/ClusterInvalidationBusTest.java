@@ -0,0 +1,135 @@
+package com.example.passwordgenerator.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClusterInvalidationBusTest {
+
+    private PasswordCache passwordCache;
+    private TagCache tagCache;
+    private SecondLevelCache secondLevelCache;
+    private DataSource dataSource;
+    private ClusterInvalidationBus bus;
+
+    @BeforeEach
+    public void setUp() {
+        CacheRegionFactory factory = new CacheRegionFactory(new StandardEnvironment());
+        passwordCache = spy(new PasswordCache(factory));
+        tagCache = spy(new TagCache(factory));
+        secondLevelCache = mock(SecondLevelCache.class);
+        dataSource = mock(DataSource.class);
+        bus = new ClusterInvalidationBus(passwordCache, tagCache, secondLevelCache, dataSource,
+                true, "cache_invalidation", 50);
+    }
+
+    @Test
+    public void testApplyForeignEvent() {
+        InvalidationEvent event = new InvalidationEvent("other");
+        event.addPasswords(List.of(1L));
+        event.addTag(2L, "");
+        event.addTagLists();
+
+        bus.apply(event);
+
+        verify(passwordCache).evictPasswords(event.getPasswordIds());
+        verify(tagCache).evictTag(2L, null);
+        verify(passwordCache).evictTagLists();
+        verify(secondLevelCache).evictPasswords(event.getPasswordIds());
+        verify(secondLevelCache).evictTag(2L);
+    }
+
+    @Test
+    public void testApplyIgnoresOwnEvents() {
+        InvalidationEvent event = new InvalidationEvent(bus.getNodeId());
+        event.addAll();
+
+        bus.apply(event);
+
+        verifyNoInteractions(passwordCache, tagCache, secondLevelCache);
+    }
+
+    @Test
+    public void testApplyFullClear() {
+        InvalidationEvent event = new InvalidationEvent("other");
+        event.addAll();
+
+        bus.apply(event);
+
+        verify(passwordCache).clearDatabaseCache();
+        verify(tagCache).clearCache();
+        verify(secondLevelCache).clear();
+    }
+
+    @Test
+    public void testFlushSendsOneNotifyPerBatch() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        bus.publishPasswords(List.of(1L));
+        bus.publishPasswords(List.of(2L));
+        bus.publishTagLists();
+        bus.flush();
+        bus.flush();
+
+        verify(statement, times(1)).execute();
+        verify(statement).setString(1, "cache_invalidation");
+        verify(statement).setString(eq(2), argThat(payload -> {
+            InvalidationEvent sent = InvalidationEvent.decode(payload);
+            return sent.getPasswordIds().size() == 2 && sent.isTagLists();
+        }));
+    }
+
+    @Test
+    public void testFlushRequeuesBatchOnFailure() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("connection refused"))
+                .thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        bus.publishPasswords(List.of(1L));
+        bus.publishTag(3L, "work");
+        bus.flush();
+        bus.publishPasswords(List.of(2L));
+        bus.flush();
+
+        verify(statement, times(1)).execute();
+        verify(statement).setString(eq(2), argThat(payload -> {
+            InvalidationEvent sent = InvalidationEvent.decode(payload);
+            return sent.getPasswordIds().equals(Set.of(1L, 2L))
+                    && "work".equals(sent.getTags().get(3L));
+        }));
+    }
+
+    @Test
+    public void testDisabledBusPublishesNothing() throws Exception {
+        bus = new ClusterInvalidationBus(passwordCache, tagCache, secondLevelCache, dataSource,
+                false, "cache_invalidation", 50);
+        bus.publishPasswords(List.of(1L));
+        bus.flush();
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    public void testRejectsInvalidChannel() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ClusterInvalidationBus(passwordCache, tagCache, secondLevelCache, dataSource,
+                true, "bad; DROP", 50));
+    }
+}
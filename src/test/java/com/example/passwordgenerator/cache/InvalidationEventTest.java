@@ -0,0 +1,87 @@
+package com.example.passwordgenerator.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvalidationEventTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        InvalidationEvent event = new InvalidationEvent("node1");
+        event.addPasswords(List.of(1L, 2L));
+        event.addPasswords(List.of(2L, 3L));
+        event.addTag(7L, "работа|личное:1");
+        event.addTag(8L, null);
+        event.addTagLists();
+
+        InvalidationEvent decoded = InvalidationEvent.decode(event.encode());
+
+        assertEquals("node1", decoded.getOrigin());
+        assertEquals(Set.of(1L, 2L, 3L), decoded.getPasswordIds(), "Повторные id должны объединяться");
+        assertEquals(Map.of(7L, "работа|личное:1", 8L, ""), decoded.getTags());
+        assertTrue(decoded.isTagLists());
+        assertFalse(decoded.isAll());
+    }
+
+    @Test
+    public void testKnownTagNameIsNotOverwrittenByUnknown() {
+        InvalidationEvent event = new InvalidationEvent("node1");
+        event.addTag(7L, "work");
+        event.addTag(7L, null);
+        assertEquals("work", event.getTags().get(7L), "Известное имя тега не должно теряться при слиянии");
+    }
+
+    @Test
+    public void testOversizedBatchFallsBackToFullClear() {
+        InvalidationEvent event = new InvalidationEvent("node1");
+        for (long id = 1_000_000; id < 1_002_000; id++) {
+            event.addPasswords(List.of(id));
+        }
+
+        String payload = event.encode();
+        InvalidationEvent decoded = InvalidationEvent.decode(payload);
+
+        assertTrue(payload.length() <= InvalidationEvent.MAX_PAYLOAD_BYTES);
+        assertTrue(decoded.isAll(), "Слишком большой пакет должен заменяться полной очисткой");
+        assertTrue(decoded.getPasswordIds().isEmpty());
+    }
+
+    @Test
+    public void testMergeKeepsAllInvalidations() {
+        InvalidationEvent unsent = new InvalidationEvent("node1");
+        unsent.addPasswords(List.of(1L));
+        unsent.addTag(7L, "work");
+        unsent.addAll();
+        InvalidationEvent pending = new InvalidationEvent("node1");
+        pending.addPasswords(List.of(2L));
+        pending.addTag(7L, null);
+
+        pending.merge(unsent);
+
+        assertEquals(Set.of(1L, 2L), pending.getPasswordIds());
+        assertEquals("work", pending.getTags().get(7L));
+        assertTrue(pending.isAll(), "Флаг полной очистки не должен теряться при слиянии");
+        assertFalse(pending.isTagLists());
+    }
+
+    @Test
+    public void testEmptyEvent() {
+        InvalidationEvent event = new InvalidationEvent("node1");
+        assertTrue(event.isEmpty());
+        event.addTagLists();
+        assertFalse(event.isEmpty());
+    }
+
+    @Test
+    public void testDecodeRejectsMalformedPayload() {
+        assertThrows(IllegalArgumentException.class, () -> InvalidationEvent.decode("garbage"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationEvent.decode("2|node1||1|"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationEvent.decode("1|node1||x|"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationEvent.decode("1|node1|||7"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.passwordgenerator.cache;
 
+import com.example.passwordgenerator.dto.KeysetPage;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,39 +13,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class PasswordCacheTest {
 
-    @Test
-    public void testPutAndGetGeneratedPassword() {
-        PasswordCache cache = new PasswordCache();
-        String cacheKey = "8_2_user1";
-        cache.putGeneratedPassword(cacheKey, "testPass");
-        Optional<String> result = cache.getGeneratedPassword(cacheKey);
-        if (!result.isPresent()) {
-            fail("Пароль должен быть в кэше!");
-        }
-        if (!"testPass".equals(result.get())) {
-            fail("Ожидаемый пароль 'testPass', но получен '" + result.get() + "'");
-        }
-    }
-
-    @Test
-    public void testPutAndGetBulkPasswords() {
-        PasswordCache cache = new PasswordCache();
-        List<String> passwords = List.of("pass1", "pass2");
-        cache.putBulkPasswords("key", passwords);
-        Optional<List<String>> result = cache.getBulkPasswords("key");
-        if (!result.isPresent()) {
-            fail("Список паролей должен быть в кэше!");
-        }
-        if (!passwords.equals(result.get())) {
-            fail("Ожидаемый список паролей не совпадает с полученным");
-        }
+    private static PasswordCache newCache() {
+        return new PasswordCache(new CacheRegionFactory(new StandardEnvironment()));
     }
 
     @Test
     public void testPutAndGetPasswordById() {
-        PasswordCache cache = new PasswordCache();
+        PasswordCache cache = newCache();
         Password password = new Password("pass1", "user1");
-        cache.putPasswordById(1L, password);
+        cache.getPasswordById(1L, () -> password);
         Optional<Password> result = cache.getPasswordById(1L);
         if (!result.isPresent()) {
             fail("Пароль должен быть в кэше!");
@@ -53,25 +32,28 @@ public class PasswordCacheTest {
     }
 
     @Test
-    public void testPutAndGetAllPasswords() {
-        PasswordCache cache = new PasswordCache();
-        List<Password> passwords = List.of(new Password("pass1", "user1"));
-        cache.putAllPasswords(passwords);
-        Optional<List<Password>> result = cache.getAllPasswords();
+    public void testPutAndGetPage() {
+        PasswordCache cache = newCache();
+        KeysetPage<Password> page = new KeysetPage<>(List.of(new Password("pass1", "user1")), null);
+        cache.getPage(0L, 50, () -> page);
+        Optional<KeysetPage<Password>> result = cache.getPage(0L, 50);
         if (!result.isPresent()) {
-            fail("Список паролей должен быть в кэше!");
+            fail("Страница паролей должна быть в кэше!");
         }
-        if (!passwords.equals(result.get())) {
-            fail("Ожидаемый список паролей не совпадает с полученным");
+        if (page != result.get()) {
+            fail("Ожидаемая страница паролей не совпадает с полученной");
+        }
+        if (cache.getPage(0L, 10).isPresent()) {
+            fail("Страница другого размера не должна находиться в кэше!");
         }
     }
 
     @Test
     public void testPutAndGetPasswordsByTag() {
-        PasswordCache cache = new PasswordCache();
-        List<Password> passwords = List.of(new Password("pass1", "user1"));
-        cache.putPasswordsByTag("tag1", passwords);
-        Optional<List<Password>> result = cache.getPasswordsByTag("tag1");
+        PasswordCache cache = newCache();
+        List<PasswordTagView> passwords = List.of(new PasswordTagView(1L, "pass1", "user1", List.of("tag1")));
+        cache.getPasswordsByTag("tag1", () -> passwords);
+        Optional<List<PasswordTagView>> result = cache.getPasswordsByTag("tag1");
         if (!result.isPresent()) {
             fail("Список паролей для тега должен быть в кэше!");
         }
@@ -81,32 +63,61 @@ public class PasswordCacheTest {
     }
 
     @Test
-    public void testClearDatabaseCache() {
-        PasswordCache cache = new PasswordCache();
-        cache.putPasswordById(1L, new Password("pass1", "user1"));
-        cache.clearDatabaseCache();
-        Optional<Password> result = cache.getPasswordById(1L);
-        if (result.isPresent()) {
-            fail("Кэ должен быть очищен!");
-        }
+    public void testEvictPasswordsIsTargeted() {
+        PasswordCache cache = newCache();
+        cache.getPasswordById(1L, () -> password(1L));
+        cache.getPasswordById(2L, () -> password(2L));
+        cache.getPage(0L, 2, () -> new KeysetPage<>(List.of(password(1L), password(2L)), "c"));
+        cache.getPage(2L, 2, () -> new KeysetPage<>(List.of(password(3L)), null));
+        cache.getPasswordsByTag("work", () -> List.of(new PasswordTagView(1L, "h", "u", List.of("work"))));
+        cache.getPasswordsByTag("home", () -> List.of(new PasswordTagView(2L, "h", "u", List.of("home"))));
+
+        cache.evictPasswords(List.of(1L));
+
+        assertTrue(cache.getPasswordById(1L).isEmpty(), "Изменённый пароль должен быть вытеснен");
+        assertTrue(cache.getPasswordById(2L).isPresent(), "Другие пароли должны остаться в кэше");
+        assertTrue(cache.getPage(0L, 2).isEmpty(), "Страница с паролем должна быть вытеснена");
+        assertTrue(cache.getPage(2L, 2).isPresent(), "Страница без пароля должна остаться");
+        assertTrue(cache.getPasswordsByTag("work").isEmpty(), "Список тега с паролем должен быть вытеснен");
+        assertTrue(cache.getPasswordsByTag("home").isPresent(), "Список другого тега должен остаться");
+
+        // Новый id попадает только в последнюю страницу
+        cache.getPage(0L, 2, () -> new KeysetPage<>(List.of(password(1L), password(2L)), "c"));
+        cache.evictPasswords(List.of(4L));
+        assertTrue(cache.getPage(0L, 2).isPresent());
+        assertTrue(cache.getPage(2L, 2).isEmpty());
     }
 
     @Test
-    public void testGetGeneratedPasswordMiss() {
-        PasswordCache cache = new PasswordCache();
-        String cacheKey = "8_2_user1";
-        Optional<String> result = cache.getGeneratedPassword(cacheKey);
-        if (result.isPresent()) {
-            fail("Пароль не должен быть в кэше!");
-        }
+    public void testStaleReadIsNotCachedAfterInvalidation() {
+        PasswordCache cache = newCache();
+        // Параллельная запись инвалидирует пароль, пока загрузка ещё читает старое значение
+        Optional<Password> stale = cache.getPasswordById(1L, () -> {
+            cache.evictPasswords(List.of(1L));
+            return password(1L);
+        });
+        assertTrue(stale.isPresent(), "Загрузивший поток получает прочитанное значение");
+        assertTrue(cache.getPasswordById(1L).isEmpty(), "Устаревшее значение не должно попасть в кэш");
+
+        cache.getPasswordById(1L, () -> password(1L));
+        assertTrue(cache.getPasswordById(1L).isPresent());
+    }
+
+    private static Password password(long id) {
+        Password password = new Password("hash" + id, "owner");
+        password.setId(id);
+        return password;
     }
 
     @Test
-    public void testGetBulkPasswordsMiss() {
-        PasswordCache cache = new PasswordCache();
-        Optional<List<String>> result = cache.getBulkPasswords("key");
+    public void testClearDatabaseCache() {
+        PasswordCache cache = newCache();
+        cache.getPasswordById(1L, () -> new Password("pass1", "user1"));
+        cache.clearDatabaseCache();
+        Optional<Password> result = cache.getPasswordById(1L);
         if (result.isPresent()) {
-            fail("Список паролей не должен быть в кэше!");
+            fail("Кэ должен быть очищен!");
         }
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.passwordgenerator.config;
+
+import com.example.passwordgenerator.controller.CacheController;
+import com.example.passwordgenerator.controller.MetricsController;
+import com.example.passwordgenerator.service.CacheService;
+import com.example.passwordgenerator.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {CacheController.class, MetricsController.class})
+@Import(SecurityConfig.class)
+public class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CacheService cacheService;
+
+    @MockitoBean
+    private MetricsService metricsService;
+
+    @Test
+    public void testReadOnlyEndpointsArePublic() throws Exception {
+        when(cacheService.getStats()).thenReturn(List.of());
+        when(metricsService.getLatency(null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/cache")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/metrics/latency")).andExpect(status().isOk());
+    }
+
+    @Test
+    public void testMutatingEndpointsRequireAuthentication() throws Exception {
+        mockMvc.perform(put("/api/cache/passwords.by-id/size").param("maxSize", "10"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/api/cache/passwords.by-id")).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/api/cache/hibernate")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/metrics/latency/reset")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        verifyNoInteractions(cacheService, metricsService);
+    }
+
+    @Test
+    @WithMockUser
+    public void testMutatingEndpointsAllowedWhenAuthenticated() throws Exception {
+        mockMvc.perform(delete("/api/cache/hibernate")).andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/metrics/latency/reset")).andExpect(status().isNoContent());
+        verify(metricsService).resetLatency();
+    }
+}
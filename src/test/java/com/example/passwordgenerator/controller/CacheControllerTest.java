@@ -0,0 +1,101 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.SecondLevelCache;
+import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.dto.SecondLevelCacheStats;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.exception.GlobalExceptionHandler;
+import com.example.passwordgenerator.service.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CacheControllerTest {
+
+    private MockMvc mockMvc;
+
+    private PasswordCache passwordCache;
+
+    private SecondLevelCache secondLevelCache;
+
+    @BeforeEach
+    public void setUp() {
+        secondLevelCache = mock(SecondLevelCache.class);
+        CacheRegionFactory regions = new CacheRegionFactory(new StandardEnvironment());
+        passwordCache = new PasswordCache(regions);
+        CacheService cacheService = new CacheService(passwordCache, new TagCache(regions), secondLevelCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CacheController(cacheService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testGetStats() throws Exception {
+        passwordCache.getPasswordById(1L, () -> new Password("secret12", "user1"));
+        passwordCache.getPasswordById(1L);
+
+        mockMvc.perform(get("/api/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[?(@.region == 'passwords.by-id')].hits").value(1))
+                .andExpect(jsonPath("$[?(@.region == 'passwords.by-id')].misses").value(1))
+                .andExpect(jsonPath("$[?(@.region == 'passwords.by-id')].entries").value(1));
+    }
+
+    @Test
+    public void testResizeRegion() throws Exception {
+        mockMvc.perform(put("/api/cache/passwords.by-id/size").param("maxSize", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.region").value("passwords.by-id"))
+                .andExpect(jsonPath("$.maxSize").value(25));
+
+        mockMvc.perform(put("/api/cache/passwords.by-id/size").param("maxSize", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testFlushRegion() throws Exception {
+        passwordCache.getPasswordById(1L, () -> new Password("secret12", "user1"));
+
+        mockMvc.perform(delete("/api/cache/passwords.by-id"))
+                .andExpect(status().isNoContent());
+
+        if (passwordCache.getPasswordById(1L).isPresent()) {
+            throw new AssertionError("Область должна быть очищена");
+        }
+    }
+
+    @Test
+    public void testUnknownRegion() throws Exception {
+        mockMvc.perform(get("/api/cache/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/cache/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testSecondLevelCache() throws Exception {
+        when(secondLevelCache.getStats())
+                .thenReturn(List.of(new SecondLevelCacheStats("hibernate-tags", -1, 3, 1, 1)));
+
+        mockMvc.perform(get("/api/cache/hibernate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("hibernate-tags"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.75));
+
+        mockMvc.perform(delete("/api/cache/hibernate"))
+                .andExpect(status().isNoContent());
+        verify(secondLevelCache).clear();
+    }
+}
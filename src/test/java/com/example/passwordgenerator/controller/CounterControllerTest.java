@@ -1,5 +1,13 @@
 package com.example.passwordgenerator.controller;
 
+import com.example.passwordgenerator.dto.ClusterRequestCount;
+import com.example.passwordgenerator.dto.EntropyStats;
+import com.example.passwordgenerator.dto.NodeRequestCount;
+import com.example.passwordgenerator.dto.PersistenceQueueStats;
+import com.example.passwordgenerator.dto.RequestCountBreakdown;
+import com.example.passwordgenerator.dto.RequestCountStats;
+import com.example.passwordgenerator.dto.RequestRateStats;
+import com.example.passwordgenerator.dto.ReservoirStats;
 import com.example.passwordgenerator.service.CounterService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +18,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +51,48 @@ public class CounterControllerTest {
                 .andExpect(jsonPath("$").value(42));
     }
 
+    @Test
+    public void testGetBreakdown() throws Exception {
+        when(counterService.getRequestBreakdown()).thenReturn(new RequestCountBreakdown(5,
+                List.of(new RequestCountStats("generate-bulk", "2", "8-15", 5))));
+
+        mockMvc.perform(get("/api/counter/breakdown")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.counts[0].endpoint").value("generate-bulk"))
+                .andExpect(jsonPath("$.counts[0].lengthBucket").value("8-15"))
+                .andExpect(jsonPath("$.counts[0].count").value(5));
+    }
+
+    @Test
+    public void testGetClusterCount() throws Exception {
+        when(counterService.getClusterRequestCount()).thenReturn(new ClusterRequestCount(30, true, List.of(
+                new NodeRequestCount("node-a", 10, 1000, true),
+                new NodeRequestCount("node-b", 20, 900, false))));
+
+        mockMvc.perform(get("/api/counter/cluster")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(30))
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.nodes[1].nodeId").value("node-b"))
+                .andExpect(jsonPath("$.nodes[0].live").value(true));
+    }
+
+    @Test
+    public void testGetRates() throws Exception {
+        when(counterService.getRequestRates()).thenReturn(List.of(
+                new RequestRateStats("generate", 12.0, 8.5, 3.25)));
+
+        mockMvc.perform(get("/api/counter/rates")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].endpoint").value("generate"))
+                .andExpect(jsonPath("$[0].perSecondLast1s").value(12.0))
+                .andExpect(jsonPath("$[0].perSecondLast15m").value(3.25));
+    }
+
     @Test
     public void testResetCount() throws Exception {
         doNothing().when(counterService).resetRequestCount();
@@ -48,4 +100,44 @@ public class CounterControllerTest {
         mockMvc.perform(post("/api/counter/reset"))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetEntropyStats() throws Exception {
+        when(counterService.getEntropyStats()).thenReturn(List.of(
+                new EntropyStats("thread-local", "DRBG", 512, 2, 400, 12)));
+
+        mockMvc.perform(get("/api/counter/entropy")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].algorithm").value("DRBG"))
+                .andExpect(jsonPath("$[0].bytesDrawn").value(512))
+                .andExpect(jsonPath("$[0].rejectedSamples").value(12));
+    }
+
+    @Test
+    public void testGetReservoirStats() throws Exception {
+        when(counterService.getReservoirStats()).thenReturn(List.of(
+                new ReservoirStats(16, 3, 200, 256, 56, 4, 3, 7, 12)));
+
+        mockMvc.perform(get("/api/counter/reservoir")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length").value(16))
+                .andExpect(jsonPath("$[0].hits").value(56))
+                .andExpect(jsonPath("$[0].misses").value(4))
+                .andExpect(jsonPath("$[0].maxRefillLagMs").value(12));
+    }
+
+    @Test
+    public void testGetPersistenceStats() throws Exception {
+        when(counterService.getPersistenceStats()).thenReturn(
+                new PersistenceQueueStats(3, 1000, 2, 10, 6, 1, 0, 4.5, 12, 95.0, 210));
+
+        mockMvc.perform(get("/api/counter/persistence")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").value(3))
+                .andExpect(jsonPath("$.activeWorkers").value(2))
+                .andExpect(jsonPath("$.avgProcessingMs").value(95.0));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.metrics.LatencyRegistry;
+import com.example.passwordgenerator.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class MetricsControllerTest {
+
+    private MockMvc mockMvc;
+
+    private LatencyRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new LatencyRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new MetricsController(new MetricsService(registry)))
+                .build();
+    }
+
+    @Test
+    public void testGetLatency() throws Exception {
+        registry.histogram("controller:PasswordController.generatePassword").record(2_000_000);
+        registry.histogram("service:PasswordService.generatePassword").record(1_000_000);
+
+        mockMvc.perform(get("/api/metrics/latency").param("prefix", "controller"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("controller:PasswordController.generatePassword"))
+                .andExpect(jsonPath("$[0].count").value(1));
+
+        mockMvc.perform(get("/api/metrics/latency/service:PasswordService.generatePassword"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        registry.histogram("service:TagService.findAll").record(1_000_000);
+
+        mockMvc.perform(post("/api/metrics/latency/reset").param("name", "service:TagService.findAll"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/metrics/latency/service:TagService.findAll"))
+                .andExpect(jsonPath("$.count").value(0));
+
+        mockMvc.perform(post("/api/metrics/latency/reset").param("name", "unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/metrics/latency/reset"))
+                .andExpect(status().isNoContent());
+    }
+}
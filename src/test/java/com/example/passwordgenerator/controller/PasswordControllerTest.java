@@ -1,6 +1,8 @@
 package com.example.passwordgenerator.controller;
 
+import com.example.passwordgenerator.dto.KeysetPage;
 import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
 import com.example.passwordgenerator.exception.GlobalExceptionHandler;
 import com.example.passwordgenerator.service.PasswordService;
@@ -119,25 +121,27 @@ public class PasswordControllerTest {
                 new Password("pass1", "user1"),
                 new Password("pass2", "user2")
         );
-        when(passwordService.findAll()).thenReturn(passwords);
+        when(passwordService.findAll("abc", 2)).thenReturn(new KeysetPage<>(passwords, "next"));
 
-        mockMvc.perform(get("/api/passwords"))
+        mockMvc.perform(get("/api/passwords").param("cursor", "abc").param("limit", "2"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$[0].password").value("pass1"))
-                .andExpect(jsonPath("$[0].owner").value("user1"))
-                .andExpect(jsonPath("$[1].password").value("pass2"))
-                .andExpect(jsonPath("$[1].owner").value("user2"));
+                .andExpect(jsonPath("$.items[0].password").value("pass1"))
+                .andExpect(jsonPath("$.items[0].owner").value("user1"))
+                .andExpect(jsonPath("$.items[1].password").value("pass2"))
+                .andExpect(jsonPath("$.items[1].owner").value("user2"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
     public void testGetAllEmpty() throws Exception {
-        when(passwordService.findAll()).thenReturn(List.of());
+        when(passwordService.findAll(null, 50)).thenReturn(new KeysetPage<>(List.of(), null));
 
         mockMvc.perform(get("/api/passwords"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-                .andExpect(jsonPath("$").isEmpty());
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
     }
 
     @Test
@@ -223,9 +227,9 @@ public class PasswordControllerTest {
 
     @Test
     public void testGetPasswordsByTagName() throws Exception {
-        List<Password> passwords = Arrays.asList(
-                new Password("pass1", "user1"),
-                new Password("pass2", "user2")
+        List<PasswordTagView> passwords = Arrays.asList(
+                new PasswordTagView(1L, "pass1", "user1", List.of("tag1", "tag2")),
+                new PasswordTagView(2L, "pass2", "user2", List.of("tag1"))
         );
         when(passwordService.findPasswordsByTagName("tag1")).thenReturn(passwords);
 
@@ -235,6 +239,7 @@ public class PasswordControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(jsonPath("$[0].password").value("pass1"))
                 .andExpect(jsonPath("$[0].owner").value("user1"))
+                .andExpect(jsonPath("$[0].tags[1]").value("tag2"))
                 .andExpect(jsonPath("$[1].password").value("pass2"))
                 .andExpect(jsonPath("$[1].owner").value("user2"));
     }
@@ -249,4 +254,4 @@ public class PasswordControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
                 .andExpect(jsonPath("$").isEmpty());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.PersistenceJobStatus;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.exception.GlobalExceptionHandler;
+import com.example.passwordgenerator.service.PersistenceJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class PasswordJobControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PersistenceJobService persistenceJobService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Проверку аргументов @Validated в приложении выполняет прокси MethodValidationPostProcessor
+        ProxyFactory proxyFactory = new ProxyFactory(new PasswordJobController(persistenceJobService));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new MethodValidationInterceptor());
+        mockMvc = MockMvcBuilders.standaloneSetup(proxyFactory.getProxy())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testCreateAsync() throws Exception {
+        when(persistenceJobService.submitCreate(any(Password.class))).thenReturn(new PersistenceJobStatus(
+                "job-1", PersistenceJobStatus.State.QUEUED, 1, 0, List.of(), null, Instant.now(), null));
+
+        mockMvc.perform(post("/api/passwords/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"password\":\"pass1\",\"owner\":\"user1\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    public void testCreateBulkAsyncRejectedWhenQueueFull() throws Exception {
+        when(persistenceJobService.submitBulk(anyList()))
+                .thenThrow(new RejectedExecutionException(
+                        "Очередь сохранения переполнена, повторите запрос позже."));
+
+        mockMvc.perform(post("/api/passwords/bulk/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"password\":\"pass1\",\"owner\":\"user1\"}]"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testUpdateAsyncSetsId() throws Exception {
+        when(persistenceJobService.submitUpdate(any(Password.class))).thenAnswer(invocation -> {
+            Password password = invocation.getArgument(0);
+            return new PersistenceJobStatus("job-2", PersistenceJobStatus.State.QUEUED, 1, 0,
+                    List.of(password.getId()), null, Instant.now(), null);
+        });
+
+        mockMvc.perform(put("/api/passwords/7/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"password\":\"pass1\",\"owner\":\"user1\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.ids[0]").value(7));
+    }
+
+    @Test
+    public void testGetJobStatus() throws Exception {
+        when(persistenceJobService.getStatus("job-3")).thenReturn(Optional.of(new PersistenceJobStatus(
+                "job-3", PersistenceJobStatus.State.COMPLETED, 2, 2, List.of(1L, 2L), null, null, null)));
+        when(persistenceJobService.getStatus("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/passwords/jobs/job-3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.ids[1]").value(2));
+        mockMvc.perform(get("/api/passwords/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testCreateBulkAsyncValidatesEachPassword() throws Exception {
+        mockMvc.perform(post("/api/passwords/bulk/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"password\":\"pass1\",\"owner\":\"user1\"},{\"password\":\"pass2\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Owner cannot be null"));
+        verify(persistenceJobService, never()).submitBulk(anyList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.passwordgenerator.controller;
+
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.exception.GlobalExceptionHandler;
+import com.example.passwordgenerator.service.PasswordService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class PasswordStreamControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PasswordService passwordService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PasswordStreamController controller = new PasswordStreamController(passwordService, new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratePasswordsStream() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<PasswordGenerationRequest> requests = invocation.getArgument(0);
+            Consumer<String> sink = invocation.getArgument(1);
+            while (requests.hasNext()) {
+                PasswordGenerationRequest request = requests.next();
+                sink.accept(request.getOwner() + "-" + request.getLength());
+            }
+            return null;
+        }).when(passwordService).generatePasswordsStream(any(Iterator.class), any(Consumer.class));
+
+        mockMvc.perform(post("/api/passwords/generate-bulk/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"length\":8,\"complexity\":2,\"owner\":\"user1\"},"
+                                + "{\"length\":10,\"complexity\":3,\"owner\":\"user2\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("\"user1-8\"\n\"user2-10\"\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratePasswordsStreamAcceptsNdjsonAndReportsErrors() throws Exception {
+        doAnswer(invocation -> {
+            Iterator<PasswordGenerationRequest> requests = invocation.getArgument(0);
+            Consumer<String> sink = invocation.getArgument(1);
+            sink.accept("first-" + requests.next().getLength());
+            throw new IllegalArgumentException("Длина пароля должна быть от 4 до 30 символов.");
+        }).when(passwordService).generatePasswordsStream(any(Iterator.class), any(Consumer.class));
+
+        mockMvc.perform(post("/api/passwords/generate-bulk/stream")
+                        .contentType("application/x-ndjson")
+                        .content("{\"length\":8,\"complexity\":2,\"owner\":\"user1\"}\n"
+                                + "{\"length\":2,\"complexity\":2,\"owner\":\"user2\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("\"first-8\"\n"
+                        + "{\"error\":\"Длина пароля должна быть от 4 до 30 символов.\"}\n"));
+    }
+}
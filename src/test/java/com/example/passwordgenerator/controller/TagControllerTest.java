@@ -1,6 +1,7 @@
 package com.example.passwordgenerator.controller;
 
 import com.example.passwordgenerator.service.TagService;
+import com.example.passwordgenerator.dto.KeysetPage;
 import com.example.passwordgenerator.entity.Tag;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,11 +41,25 @@ public class TagControllerTest {
     @Test
     public void testGetAllTags() throws Exception {
         List<Tag> tags = Arrays.asList(new Tag("tag1"), new Tag("tag2"));
-        when(tagService.findAll()).thenReturn(tags);
+        when(tagService.findAll(null, 50)).thenReturn(new KeysetPage<>(tags, "next"));
         mockMvc.perform(get("/api/tags"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("tag1"))
-                .andExpect(jsonPath("$[1].name").value("tag2"));
+                .andExpect(jsonPath("$.items[0].name").value("tag1"))
+                .andExpect(jsonPath("$.items[1].name").value("tag2"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void testGetTagByName() throws Exception {
+        Tag tag = new Tag("work");
+        tag.setId(3L);
+        when(tagService.findByName("work")).thenReturn(Optional.of(tag));
+        when(tagService.findByName("missing")).thenReturn(Optional.empty());
+        mockMvc.perform(get("/api/tags/by-name").param("name", "work"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(3));
+        mockMvc.perform(get("/api/tags/by-name").param("name", "missing"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,147 @@
+package com.example.passwordgenerator.counter;
+
+import com.example.passwordgenerator.dto.ClusterRequestCount;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CounterCheckpointerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcDataSource database;
+    private DataSource unavailable;
+    private Path journal;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:counter" + ThreadLocalRandom.current().nextLong() + ";DB_CLOSE_DELAY=-1");
+        unavailable = mock(DataSource.class);
+        when(unavailable.getConnection()).thenThrow(new SQLException("БД недоступна"));
+        journal = tempDir.resolve("request-counter-node-a.log");
+        RequestCounter.reset();
+    }
+
+    @Test
+    public void testCheckpointAndRestoreFromDatabase() {
+        newCheckpointer(database, "node-a").restore();
+        RequestCounter.add(42);
+        newCheckpointer(database, "node-a").checkpoint();
+
+        RequestCounter.reset();
+        newCheckpointer(database, "node-a").restore();
+
+        assertEquals(42, RequestCounter.getCount(), "Итог должен восстановиться из БД после перезапуска");
+        assertFalse(Files.exists(journal), "При доступной БД журнал не должен создаваться");
+    }
+
+    @Test
+    public void testFallsBackToJournalWhenDatabaseIsDown() {
+        RequestCounter.add(7);
+        newCheckpointer(unavailable, "node-a").checkpoint();
+        assertTrue(Files.exists(journal), "При недоступной БД итог должен попасть в журнал");
+
+        RequestCounter.reset();
+        newCheckpointer(unavailable, "node-a").restore();
+
+        assertEquals(7, RequestCounter.getCount(), "Итог должен восстановиться из журнала");
+    }
+
+    @Test
+    public void testJournalNewerThanDatabaseWins() throws Exception {
+        RequestCounter.add(10);
+        newCheckpointer(database, "node-a").checkpoint();
+        Thread.sleep(5);
+        RequestCounter.add(5);
+        newCheckpointer(unavailable, "node-a").checkpoint();
+
+        RequestCounter.reset();
+        CounterCheckpointer checkpointer = newCheckpointer(database, "node-a");
+        checkpointer.restore();
+        assertEquals(15, RequestCounter.getCount(), "Должна восстанавливаться более свежая контрольная точка");
+
+        RequestCounter.add(1);
+        checkpointer.checkpoint();
+        assertFalse(Files.exists(journal), "После записи в БД журнал должен удаляться");
+    }
+
+    @Test
+    public void testIgnoresTornAndForeignJournalLines() throws Exception {
+        Files.writeString(journal, "100 node-a 3\n200 node-b 50\n300 node-a");
+        newCheckpointer(unavailable, "node-a").restore();
+        assertEquals(3, RequestCounter.getCount(), "Чужие и оборванные строки журнала должны пропускаться");
+    }
+
+    @Test
+    public void testClusterCountSumsNodes() throws SQLException {
+        newCheckpointer(database, "node-a").restore();
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + CounterCheckpointer.TABLE + " VALUES ('node-a', 1, 1), ('node-b', 20, 1)");
+        }
+        RequestCounter.add(5);
+
+        ClusterRequestCount count = newCheckpointer(database, "node-a").getClusterCount();
+
+        assertTrue(count.isComplete());
+        assertEquals(25, count.getTotal(), "Строка своего узла должна заменяться значением из памяти");
+        assertEquals(2, count.getNodes().size());
+        assertTrue(count.getNodes().get(0).isLive());
+        assertEquals("node-b", count.getNodes().get(1).getNodeId());
+    }
+
+    @Test
+    public void testClusterCountWithoutDatabase() {
+        RequestCounter.add(3);
+        ClusterRequestCount count = newCheckpointer(unavailable, "node-a").getClusterCount();
+        assertFalse(count.isComplete(), "Без БД итог кластера должен помечаться неполным");
+        assertEquals(3, count.getTotal());
+    }
+
+    @Test
+    public void testDefaultNodeIdIsUniquePerPort() {
+        CounterCheckpointer first = new CounterCheckpointer(database, true, 1_000, tempDir.toString(), "", 8080);
+        CounterCheckpointer second = new CounterCheckpointer(database, true, 1_000, tempDir.toString(), "", 8081);
+        assertNotEquals(first.getNodeId(), second.getNodeId(),
+                "Экземпляры на одном хосте должны получать разные идентификаторы");
+        assertTrue(first.getNodeId().endsWith(":8080"));
+
+        RequestCounter.add(4);
+        new CounterCheckpointer(unavailable, true, 1_000, tempDir.toString(), "", 8080).checkpoint();
+        RequestCounter.reset();
+        new CounterCheckpointer(unavailable, true, 1_000, tempDir.toString(), "", 8081).restore();
+        assertEquals(0, RequestCounter.getCount(), "Узел не должен читать журнал другого экземпляра");
+    }
+
+    @Test
+    public void testRandomPortRequiresExplicitNodeId() {
+        assertThrows(IllegalStateException.class,
+                () -> new CounterCheckpointer(database, true, 1_000, tempDir.toString(), "", 0));
+        assertEquals("node-a",
+                new CounterCheckpointer(database, true, 1_000, tempDir.toString(), "node-a", 0).getNodeId());
+    }
+
+    @Test
+    public void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> newCheckpointer(database, "node a"));
+    }
+
+    private CounterCheckpointer newCheckpointer(DataSource dataSource, String nodeId) {
+        return new CounterCheckpointer(dataSource, true, 1_000, tempDir.toString(), nodeId, 8080);
+    }
+}
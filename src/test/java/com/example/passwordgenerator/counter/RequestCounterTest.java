@@ -1,7 +1,11 @@
 package com.example.passwordgenerator.counter;
 
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.RequestCountStats;
+import com.example.passwordgenerator.dto.RequestRateStats;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -35,6 +39,54 @@ public class RequestCounterTest {
         assertEquals(0, RequestCounter.getCount(), "Счетчик должен быть сброшен до 0");
     }
 
+    @Test
+    public void testAdd() {
+        RequestCounter.reset();
+        RequestCounter.add(5);
+        RequestCounter.increment();
+        assertEquals(6, RequestCounter.getCount());
+        assertTrue(RequestCounter.getBreakdown().isEmpty(), "add и increment не должны создавать меток");
+    }
+
+    @Test
+    public void testRecordBreakdown() {
+        RequestCounter.reset();
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 2, 12);
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 2, 8);
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 3, 30);
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 7, 100);
+
+        assertEquals(4, RequestCounter.getCount());
+        List<RequestCountStats> breakdown = RequestCounter.getBreakdown();
+        assertEquals(3, breakdown.size());
+        assertEquals(2, count(breakdown, "generate", "2", "8-15"));
+        assertEquals(1, count(breakdown, "generate", "3", "16-30"));
+        assertEquals(1, count(breakdown, "generate", "other", "other"),
+                "Значения вне диапазона — в метку other");
+    }
+
+    @Test
+    public void testRecordBulk() {
+        RequestCounter.reset();
+        RequestCounter.recordBulk(List.of(
+                new PasswordGenerationRequest(4, 1, "user1"),
+                new PasswordGenerationRequest(7, 1, "user2"),
+                new PasswordGenerationRequest(16, 2, "user3")));
+
+        assertEquals(3, RequestCounter.getCount());
+        List<RequestCountStats> breakdown = RequestCounter.getBreakdown();
+        assertEquals(2, count(breakdown, "generate-bulk", "1", "4-7"));
+        assertEquals(1, count(breakdown, "generate-bulk", "2", "16-30"));
+    }
+
+    @Test
+    public void testResetClearsBreakdown() {
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 1, 10);
+        RequestCounter.reset();
+        assertEquals(0, RequestCounter.getCount());
+        assertTrue(RequestCounter.getBreakdown().isEmpty(), "Сброс должен обнулить счётчики по меткам");
+    }
+
     @Test
     public void testConcurrentIncrement() throws InterruptedException {
         RequestCounter.reset();
@@ -53,4 +105,56 @@ public class RequestCounterTest {
         executor.shutdown();
         assertEquals(threadCount, RequestCounter.getCount(), "Счетчик должен быть равен количеству потоков");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConcurrentRecord() throws InterruptedException {
+        RequestCounter.reset();
+        int threadCount = 8;
+        int perThread = 10_000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    RequestCounter.record(RequestCounter.Endpoint.GENERATE, 1 + j % 3, 4 + j % 27);
+                }
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+        executor.shutdown();
+        assertEquals(threadCount * perThread, RequestCounter.getCount());
+        assertEquals(threadCount * perThread,
+                RequestCounter.getBreakdown().stream().mapToLong(RequestCountStats::getCount).sum(),
+                "Сумма по меткам должна совпадать с итогом");
+    }
+
+    private static long count(List<RequestCountStats> breakdown, String endpoint, String complexity,
+                              String lengthBucket) {
+        return breakdown.stream()
+                .filter(stats -> stats.getEndpoint().equals(endpoint)
+                        && stats.getComplexity().equals(complexity)
+                        && stats.getLengthBucket().equals(lengthBucket))
+                .mapToLong(RequestCountStats::getCount)
+                .sum();
+    }
+
+    @Test
+    public void testRatesSurviveReset() {
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 2, 12);
+        RequestCounter.recordBulk(List.of(
+                new PasswordGenerationRequest(8, 1, "u"), new PasswordGenerationRequest(8, 1, "u")));
+        RequestCounter.reset();
+
+        List<RequestRateStats> rates = RequestCounter.getRates();
+        assertEquals(2, rates.size(), "Темп должен считаться для каждого эндпоинта");
+        assertEquals("generate", rates.get(0).getEndpoint());
+        assertEquals("generate-bulk", rates.get(1).getEndpoint());
+        for (RequestRateStats rate : rates) {
+            assertTrue(rate.getPerSecondLast1m() > 0, "Сброс счётчиков не должен обнулять окна");
+            assertTrue(rate.getPerSecondLast15m() > 0, "Сброс счётчиков не должен обнулять окна");
+        }
+    }
+}
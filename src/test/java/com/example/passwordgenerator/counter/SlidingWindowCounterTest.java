@@ -0,0 +1,94 @@
+package com.example.passwordgenerator.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowCounterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    public void testSumWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, 10, clock::get);
+        counter.add(3);
+        clock.addAndGet(250);
+        counter.add(2);
+        clock.addAndGet(600);
+        counter.add(1);
+        assertEquals(6, counter.sum(), "Все события в пределах окна должны учитываться");
+    }
+
+    @Test
+    public void testExpiredSlotsAreNotCounted() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, 10, clock::get);
+        counter.add(5);
+        clock.addAndGet(500);
+        counter.add(2);
+        clock.addAndGet(500);
+        assertEquals(2, counter.sum(), "События старше окна не должны учитываться");
+        clock.addAndGet(10_000);
+        assertEquals(0, counter.sum(), "После простоя окно должно быть пустым");
+    }
+
+    @Test
+    public void testSlotReusedOnNextLap() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, 10, clock::get);
+        counter.add(7);
+        clock.addAndGet(1_000);
+        counter.add(1);
+        assertEquals(1, counter.sum(), "Слот прошлого круга должен начинаться с нуля");
+    }
+
+    @Test
+    public void testRatePerSecond() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 60, clock::get);
+        clock.addAndGet(120_000);
+        for (int i = 0; i < 60; i++) {
+            counter.add(10);
+            clock.addAndGet(1_000);
+        }
+        assertEquals(10.0, counter.ratePerSecond(), 0.5, "Темп должен быть около 10 событий в секунду");
+    }
+
+    @Test
+    public void testRateRightAfterCreation() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 60, clock::get);
+        clock.addAndGet(1_999);
+        counter.add(20);
+        assertEquals(10.0, counter.ratePerSecond(), 0.01,
+                "До заполнения окна темп должен считаться по времени с момента создания");
+    }
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 10, clock::get);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counter.add(1);
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "Потоки должны завершиться");
+        executor.shutdown();
+        assertEquals((long) threads * perThread, counter.sum(), "Параллельные добавления не должны теряться");
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(0, 10, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(100, 1, clock::get));
+    }
+}
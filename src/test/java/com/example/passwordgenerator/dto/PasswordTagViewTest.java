@@ -0,0 +1,36 @@
+package com.example.passwordgenerator.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordTagViewTest {
+
+    @Test
+    public void testFromRowsGroupsTagsInOrder() {
+        List<PasswordTagView> views = PasswordTagView.fromRows(List.of(
+                new PasswordTagRow(1L, "h1", "u1", "home"),
+                new PasswordTagRow(1L, "h1", "u1", "work"),
+                new PasswordTagRow(2L, "h2", "u2", "work")));
+
+        assertEquals(2, views.size());
+        assertEquals(1L, views.get(0).getId());
+        assertEquals(List.of("home", "work"), views.get(0).getTags());
+        assertEquals(List.of("work"), views.get(1).getTags());
+    }
+
+    @Test
+    public void testTagsAreImmutable() {
+        PasswordTagView view = PasswordTagView.fromRows(List.of(new PasswordTagRow(1L, "h", "u", "work"))).get(0);
+        assertThrows(UnsupportedOperationException.class, () -> view.getTags().add("home"),
+                "Список тегов разделяется через кэш и не должен меняться");
+
+        List<String> source = new ArrayList<>(List.of("work"));
+        PasswordTagView copied = new PasswordTagView(2L, "h", "u", source);
+        source.add("home");
+        assertEquals(List.of("work"), copied.getTags(), "Представление не должно зависеть от исходного списка");
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GlobalExceptionHandlerTest {
@@ -20,4 +22,13 @@ public class GlobalExceptionHandlerTest {
             fail("Ожидаемое тело ответа 'Test error', но получено '" + response.getBody() + "'");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHandleRejectedExecutionException() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        ResponseEntity<String> response =
+                handler.handleRejectedExecutionException(new RejectedExecutionException("Queue full"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Queue full", response.getBody());
+    }
+}
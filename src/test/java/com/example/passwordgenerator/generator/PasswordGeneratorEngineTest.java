@@ -0,0 +1,65 @@
+package com.example.passwordgenerator.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordGeneratorEngineTest {
+
+    private static final String SYMBOLS = "!@#$%^&*()_-+=<>?/{}[]|";
+
+    private final PasswordGeneratorEngine engine =
+            new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256));
+
+    @Test
+    public void testGuaranteedCharacterClasses() {
+        for (int i = 0; i < 200; i++) {
+            String password = engine.generate(4, 3);
+            assertEquals(4, password.length(), "Длина пароля должна быть 4");
+            assertTrue(password.chars().anyMatch(Character::isDigit), "Пароль должен содержать цифру: " + password);
+            assertTrue(password.chars().anyMatch(Character::isLetter), "Пароль должен содержать букву: " + password);
+            assertTrue(password.chars().anyMatch(c -> SYMBOLS.indexOf(c) != -1),
+                    "Пароль должен содержать символ: " + password);
+        }
+    }
+
+    @Test
+    public void testNumbersOnlyForComplexity1() {
+        String password = engine.generate(30, 1);
+        assertEquals(30, password.length());
+        assertTrue(password.chars().allMatch(Character::isDigit), "Пароль должен состоять из цифр: " + password);
+    }
+
+    @Test
+    public void testNoSymbolsForComplexity2() {
+        for (int i = 0; i < 100; i++) {
+            String password = engine.generate(16, 2);
+            assertTrue(password.chars().allMatch(Character::isLetterOrDigit), "Недопустимый символ: " + password);
+        }
+    }
+
+    @Test
+    public void testGuaranteedCharactersAreShuffled() {
+        Set<Integer> symbolPositions = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            String password = engine.generate(8, 3);
+            for (int j = 0; j < password.length(); j++) {
+                if (SYMBOLS.indexOf(password.charAt(j)) != -1) {
+                    symbolPositions.add(j);
+                }
+            }
+        }
+        assertEquals(8, symbolPositions.size(), "Символы должны встречаться на всех позициях");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(31, 2));
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.generate(8, 4));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.passwordgenerator.generator;
+
+import com.example.passwordgenerator.dto.ReservoirStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordReservoirTest {
+
+    private final PasswordGeneratorEngine engine =
+            new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256));
+
+    private PasswordReservoir reservoir;
+
+    @AfterEach
+    public void tearDown() {
+        if (reservoir != null) {
+            reservoir.stop();
+        }
+    }
+
+    @Test
+    public void testServesEachPasswordOnce() throws InterruptedException {
+        reservoir = new PasswordReservoir(engine, true, 32, 8, "12:2", 1);
+        reservoir.start();
+        awaitAvailable(32);
+
+        Set<String> handedOut = new HashSet<>();
+        for (int i = 0; i < 24; i++) {
+            String password = reservoir.take(12, 2);
+            assertNotNull(password, "Запас не должен опустеть выше порога");
+            assertEquals(12, password.length());
+            assertTrue(handedOut.add(password), "Пароль выдан повторно: " + password);
+        }
+
+        ReservoirStats stats = reservoir.getStats().get(0);
+        assertEquals(24, stats.getHits());
+        assertEquals(0, stats.getMisses());
+    }
+
+    @Test
+    public void testRefillsBelowThreshold() throws InterruptedException {
+        reservoir = new PasswordReservoir(engine, true, 16, 4, "8:1", 1);
+        reservoir.start();
+        awaitAvailable(16);
+        for (int i = 0; i < 14; i++) {
+            reservoir.take(8, 1);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reservoir.getStats().get(0).getRefills() < 2) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Запас должен быть пополнен повторно");
+            }
+            Thread.sleep(10);
+        }
+        assertTrue(reservoir.getStats().get(0).getAvailable() >= 4, "После пополнения запас выше порога");
+    }
+
+    @Test
+    public void testUnknownShapeIsNotServed() {
+        reservoir = new PasswordReservoir(engine, true, 16, 4, "8:1", 1);
+        reservoir.start();
+        assertNull(reservoir.take(10, 3));
+        assertEquals(1, reservoir.getStats().size());
+    }
+
+    @Test
+    public void testDisabledReservoirIsEmpty() {
+        reservoir = new PasswordReservoir(engine, false, 16, 4, "8:1", 1);
+        reservoir.start();
+        assertNull(reservoir.take(8, 1));
+        assertTrue(reservoir.getStats().isEmpty());
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new PasswordReservoir(engine, true, 16, 16, "8:1", 1));
+        PasswordReservoir invalidShape = new PasswordReservoir(engine, true, 16, 4, "40:1", 1);
+        assertThrows(IllegalArgumentException.class, invalidShape::start);
+    }
+
+    private void awaitAvailable(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reservoir.getStats().get(0).getAvailable() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Запас не заполнился за отведённое время");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
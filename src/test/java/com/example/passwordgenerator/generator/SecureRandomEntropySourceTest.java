@@ -0,0 +1,67 @@
+package com.example.passwordgenerator.generator;
+
+import com.example.passwordgenerator.dto.EntropyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecureRandomEntropySourceTest {
+
+    @Test
+    public void testIndicesStayWithinBound() {
+        SecureRandomEntropySource source = new SecureRandomEntropySource("DRBG", "thread-local", 0, 64);
+        for (int bound = 1; bound <= EntropySource.MAX_BOUND; bound++) {
+            for (int i = 0; i < 50; i++) {
+                int index = source.nextIndex(bound);
+                assertTrue(index >= 0 && index < bound, "Индекс " + index + " вне границы " + bound);
+            }
+        }
+    }
+
+    @Test
+    public void testDistributionIsUniform() {
+        SecureRandomEntropySource source = new SecureRandomEntropySource("DRBG", "thread-local", 0, 256);
+        int bound = 85;
+        int samples = 85_000;
+        int[] histogram = new int[bound];
+        for (int i = 0; i < samples; i++) {
+            histogram[source.nextIndex(bound)]++;
+        }
+        int expected = samples / bound;
+        for (int count : histogram) {
+            assertTrue(Math.abs(count - expected) < expected * 0.25, "Неравномерное распределение: " + count);
+        }
+    }
+
+    @Test
+    public void testStripedModeReportsEveryStripe() {
+        SecureRandomEntropySource source = new SecureRandomEntropySource("SHA1PRNG", "striped", 3, 32);
+        for (int i = 0; i < 100; i++) {
+            source.nextIndex(10);
+        }
+        List<EntropyStats> stats = source.getStats();
+        assertEquals(3, stats.size(), "Должна быть статистика по каждой полосе");
+        assertEquals("SHA1PRNG", stats.get(0).getAlgorithm());
+        long bytes = stats.stream().mapToLong(EntropyStats::getBytesDrawn).sum();
+        assertTrue(bytes >= 100, "Байты должны забираться из источника пачками");
+    }
+
+    @Test
+    public void testUnknownAlgorithmFallsBackToDefault() {
+        SecureRandomEntropySource source = new SecureRandomEntropySource("NoSuchPRNG", "thread-local", 0, 16);
+        int index = source.nextIndex(10);
+        assertTrue(index >= 0 && index < 10);
+        assertNotEquals("NoSuchPRNG", source.getStats().get(0).getAlgorithm());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        SecureRandomEntropySource source = new SecureRandomEntropySource("DRBG", "thread-local", 0, 16);
+        assertThrows(IllegalArgumentException.class, () -> source.nextIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> source.nextIndex(EntropySource.MAX_BOUND + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SecureRandomEntropySource("DRBG", "unknown", 0, 16));
+    }
+}
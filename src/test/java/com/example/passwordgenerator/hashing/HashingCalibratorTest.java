@@ -0,0 +1,79 @@
+package com.example.passwordgenerator.hashing;
+
+import com.example.passwordgenerator.config.HashingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashingCalibratorTest {
+
+    private final HashingCalibrator calibrator = new HashingCalibrator();
+
+    @Test
+    public void testTinyTargetKeepsMinimumCost() {
+        for (HashingAlgorithm algorithm : HashingAlgorithm.values()) {
+            assertEquals(algorithm.getMinCost(), calibrator.calibrate(algorithm, 1),
+                    "Стоимость не должна опускаться ниже минимальной для " + algorithm.getId());
+        }
+    }
+
+    @Test
+    public void testCostGrowsWithTarget() {
+        long measured = calibrator.measure(HashingAlgorithm.PBKDF2.createEncoder(HashingAlgorithm.PBKDF2.getMinCost()));
+        int cost = calibrator.calibrate(HashingAlgorithm.PBKDF2, measured * 4);
+        assertTrue(cost > HashingAlgorithm.PBKDF2.getMinCost(), "Стоимость должна расти вместе с целью: " + cost);
+        assertTrue(cost <= HashingAlgorithm.PBKDF2.getMaxCost());
+    }
+
+    @Test
+    public void testHugeTargetIsCappedAtMaximum() {
+        assertEquals(HashingAlgorithm.BCRYPT.getMaxCost(),
+                calibrator.calibrate(HashingAlgorithm.BCRYPT, Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void testEveryAlgorithmRoundTrips() {
+        for (HashingAlgorithm algorithm : HashingAlgorithm.values()) {
+            PasswordEncoder encoder = algorithm.createEncoder(algorithm.getMinCost());
+            String hash = encoder.encode("secret");
+            assertTrue(encoder.matches("secret", hash), "Хэш должен проверяться для " + algorithm.getId());
+            assertFalse(encoder.matches("other", hash));
+        }
+    }
+
+    @Test
+    public void testDelegatingEncoderVerifiesLegacyAndPrefixedHashes() {
+        PasswordEncoder encoder = new HashingConfig().passwordEncoder("argon2", false, 100, 100_000);
+        String legacyHash = new BCryptPasswordEncoder().encode("secret");
+        assertTrue(encoder.matches("secret", legacyHash), "Старые хэши BCrypt без префикса должны проверяться");
+
+        String hash = encoder.encode("secret");
+        assertTrue(hash.startsWith("{argon2}"), "Новый хэш должен иметь префикс алгоритма: " + hash);
+        assertTrue(encoder.matches("secret", hash));
+        assertTrue(encoder.matches("secret", "{bcrypt}" + legacyHash));
+    }
+
+    @Test
+    public void testPbkdf2HashVerifiesAcrossCalibratedInstances() {
+        PasswordEncoder first = new HashingConfig().passwordEncoder("pbkdf2", true, 500, 100_000);
+        PasswordEncoder second = new HashingConfig().passwordEncoder("pbkdf2", true, 5, 100_000);
+        String hash = first.encode("secret");
+        assertTrue(second.matches("secret", hash),
+                "Хэш PBKDF2 должен проверяться на узле с другой целевой задержкой");
+    }
+
+    @Test
+    public void testOnlyCostInHashAlgorithmsAreCalibratable() {
+        assertFalse(HashingAlgorithm.PBKDF2.isCostInHash());
+        assertTrue(HashingAlgorithm.BCRYPT.isCostInHash());
+        assertTrue(HashingAlgorithm.SCRYPT.isCostInHash());
+        assertTrue(HashingAlgorithm.ARGON2.isCostInHash());
+    }
+
+    @Test
+    public void testUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> HashingAlgorithm.fromId("md5"));
+    }
+}
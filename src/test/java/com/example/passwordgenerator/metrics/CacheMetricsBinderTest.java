@@ -0,0 +1,34 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.entity.Password;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheMetricsBinderTest {
+
+    @Test
+    public void testRegionMeters() {
+        CacheRegionFactory regions = new CacheRegionFactory(new StandardEnvironment());
+        PasswordCache passwordCache = new PasswordCache(regions);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new CacheMetricsBinder(passwordCache, new TagCache(regions)).bindTo(registry);
+
+        passwordCache.getPasswordById(1L, () -> new Password("secret12", "user1"));
+        passwordCache.getPasswordById(1L);
+        passwordCache.getPasswordById(2L);
+
+        assertEquals(1, registry.get("cache.size").tag("cache", "passwords.by-id").gauge().value());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "passwords.by-id", "result", "hit")
+                .functionCounter().count());
+        assertEquals(2, registry.get("cache.gets").tags("cache", "passwords.by-id", "result", "miss")
+                .functionCounter().count(), "Загрузка через loader тоже считается промахом");
+        assertEquals(6, registry.get("cache.size").gauges().size(), "По серии на каждую область");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.dto.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundsContainValue() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456, 1_000_000_007L, 60_000_000_000L};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(upper >= value, "Верхняя граница корзины меньше значения " + value);
+            assertTrue(upper - value <= Math.max(1, value / LatencyHistogram.SUB_BUCKETS),
+                    "Погрешность корзины для " + value + " больше 1/32");
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE),
+                "Слишком большие значения должны попадать в последнюю корзину");
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        LatencyStats stats = histogram.snapshot();
+
+        assertEquals(1000, stats.getCount());
+        assertEquals(500, stats.getP50Millis(), 500 * 0.04);
+        assertEquals(990, stats.getP99Millis(), 990 * 0.04);
+        assertEquals(1000, stats.getMaxMillis(), 1e-9);
+        assertEquals(500.5, stats.getMeanMillis(), 1e-9);
+    }
+
+    @Test
+    public void testPercentileNotAboveMax() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(903_184_352L);
+
+        LatencyStats stats = histogram.snapshot();
+
+        assertEquals(stats.getMaxMillis(), stats.getP50Millis(), "Процентиль не может быть больше максимума");
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        assertEquals(0, histogram.snapshot().getP99Millis());
+
+        histogram.record(5_000_000);
+        histogram.reset();
+
+        LatencyStats stats = histogram.snapshot();
+        assertEquals(0, stats.getCount(), "Сброс должен начинать новое окно");
+        assertEquals(0, stats.getMaxMillis());
+    }
+
+    @Test
+    public void testConcurrentRecord() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        int threadCount = 8;
+        int perThread = 10_000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    histogram.record(j * 1_000L);
+                }
+                latch.countDown();
+            });
+        }
+
+        latch.await();
+        executor.shutdown();
+        assertEquals(threadCount * perThread, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.aspect.LatencyAspect;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.SecureRandomEntropySource;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Цена инструментирования генерации: вызов без прокси, через LatencyAspect с выключенными замерами
+ * и с включёнными (гистограмма и таймер Prometheus). Запуск: {@code mvn test -Pbenchmark}.
+ */
+public class MetricsOverheadBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int CALLS = 1_000_000;
+
+    // Не даёт JIT выбросить результат генерации
+    private static volatile int blackhole;
+
+    @Test
+    public void compareOverhead() {
+        PasswordGeneratorEngine engine =
+                new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256));
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        PasswordMetrics passwordMetrics = new PasswordMetrics(meterRegistry, "bcrypt");
+
+        PasswordGeneratorEngine disabled =
+                proxy(engine, new LatencyAspect(new LatencyRegistry(), passwordMetrics, false));
+        PasswordGeneratorEngine enabled =
+                proxy(engine, new LatencyAspect(new LatencyRegistry(), passwordMetrics, true));
+        // Первый проход прогревает JIT для всех трёх вариантов, печатается второй
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            measure("без инструментирования", engine, print);
+            measure("аспект, замеры выключены", disabled, print);
+            measure("аспект, гистограмма + Prometheus", enabled, print);
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram("bench");
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            histogram.record(i);
+        }
+        System.out.printf("LatencyHistogram.record: %.1f нс/вызов%n",
+                (double) (System.nanoTime() - start) / CALLS);
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            passwordMetrics.recordGeneration(2, i);
+        }
+        System.out.printf("Timer.record (Prometheus): %.1f нс/вызов%n",
+                (double) (System.nanoTime() - start) / CALLS);
+        System.out.printf("Размер ответа /actuator/prometheus: %d байт%n", meterRegistry.scrape().length());
+    }
+
+    private static void measure(String label, PasswordGeneratorEngine engine, boolean print) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += engine.generate(16, 2).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += engine.generate(16, 2).length();
+        }
+        double nanosPerCall = (double) (System.nanoTime() - start) / CALLS;
+        blackhole = sink;
+        if (print) {
+            System.out.printf("generate, %s: %.1f нс/вызов%n", label, nanosPerCall);
+        }
+    }
+
+    private static PasswordGeneratorEngine proxy(PasswordGeneratorEngine target, LatencyAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.passwordgenerator.metrics;
+
+import com.example.passwordgenerator.counter.RequestCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCounterMetricsBinderTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        RequestCounter.reset();
+        registry = new SimpleMeterRegistry();
+        new RequestCounterMetricsBinder().bindTo(registry);
+    }
+
+    @Test
+    public void testCountersFollowRequestCounter() {
+        RequestCounter.record(RequestCounter.Endpoint.GENERATE, 3, 20);
+        RequestCounter.add(2);
+
+        assertEquals(3, registry.get("password.request.count").functionCounter().count());
+        assertEquals(1, registry.get("password.generation.requests")
+                .tags("endpoint", "generate", "complexity", "3", "length", "16-30")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testFixedNumberOfSeries() {
+        int expected = RequestCounter.Endpoint.values().length * RequestCounter.getComplexityLabels().size()
+                * RequestCounter.getLengthBucketLabels().size();
+        assertEquals(expected, registry.get("password.generation.requests").functionCounters().size());
+    }
+}
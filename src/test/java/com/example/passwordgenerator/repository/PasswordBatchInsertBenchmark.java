@@ -0,0 +1,70 @@
+package com.example.passwordgenerator.repository;
+
+import com.example.passwordgenerator.entity.Password;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Число обращений к БД при saveAll без пакетов и с пакетами JDBC. Запуск: {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(PasswordRepositoryTest.CountingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PasswordBatchInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private PasswordRepository passwordRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareRoundTrips() {
+        for (int rows : new int[]{1_000, 10_000, 100_000}) {
+            for (int batchSize : new int[]{1, BATCH_SIZE}) {
+                passwordRepository.deleteAllInBatch();
+                statementCounter.reset();
+                long start = System.nanoTime();
+                saveAll(rows, batchSize);
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("saveAll(%d), batch_size=%d: обращений к БД %d, %d мс%n",
+                        rows, batchSize, statementCounter.getRoundTrips(), elapsedMs);
+            }
+        }
+    }
+
+    private void saveAll(int rows, int batchSize) {
+        List<Password> passwords = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            passwords.add(new Password("hash" + i, "owner" + i));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            passwordRepository.saveAll(passwords);
+            entityManager.flush();
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.passwordgenerator.repository;
+
+import com.example.passwordgenerator.dto.PasswordTagRow;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.show-sql=false"
+})
+@Import(PasswordRepositoryTest.CountingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PasswordRepositoryTest {
+
+    @TestConfiguration
+    static class CountingConfig {
+        @Bean
+        static StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+
+    @Autowired
+    private PasswordRepository passwordRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        tagRepository.deleteAll();
+        passwordRepository.deleteAllInBatch();
+        statementCounter.reset();
+    }
+
+    @Test
+    public void testSaveAllUsesJdbcBatches() {
+        List<Password> saved = saveAll(120, 50);
+
+        assertEquals(120, saved.size());
+        assertTrue(saved.stream().allMatch(password -> password.getId() != null));
+        // 3 пакета вставок и не больше 4 обращений к последовательности (по одному на 50 идентификаторов)
+        assertTrue(statementCounter.getRoundTrips() <= 7,
+                "Ожидалась пакетная вставка, обращений к БД: " + statementCounter.getRoundTrips());
+        assertEquals(120, passwordRepository.count());
+    }
+
+    @Test
+    public void testWithoutBatchingEveryRowIsRoundTrip() {
+        saveAll(120, 1);
+        assertTrue(statementCounter.getRoundTrips() >= 120,
+                "Без пакетов каждая строка — отдельное обращение: " + statementCounter.getRoundTrips());
+    }
+
+    @Test
+    public void testKeysetPagesCoverAllRowsInIdOrder() {
+        saveAll(25, 50);
+        List<Long> seen = new ArrayList<>();
+        long afterId = 0L;
+        List<Password> page;
+        do {
+            page = passwordRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(10));
+            for (Password password : page) {
+                seen.add(password.getId());
+                afterId = password.getId();
+            }
+        } while (page.size() == 10);
+
+        assertEquals(25, seen.size());
+        assertEquals(seen.stream().sorted().toList(), seen, "Страницы должны идти по возрастанию id");
+    }
+
+    @Test
+    public void testTagProjectionIsSingleQuery() {
+        List<Password> passwords = saveAll(30, 50);
+        Tag work = new Tag("work");
+        Tag home = new Tag("home");
+        work.getPasswordEntries().addAll(passwords);
+        home.getPasswordEntries().addAll(passwords.subList(0, 10));
+        tagRepository.saveAll(List.of(work, home));
+        statementCounter.reset();
+
+        List<PasswordTagRow> rows = passwordRepository.findPasswordTagRowsByTagName("work");
+
+        assertEquals(1, statementCounter.getRoundTrips(), "Проекция не должна догружать теги построчно (N+1)");
+        assertEquals(40, rows.size());
+        assertEquals(List.of("home", "work"), rows.stream()
+                .filter(row -> row.getPasswordId().equals(passwords.get(0).getId()))
+                .map(PasswordTagRow::getTagName)
+                .toList());
+    }
+
+    List<Password> saveAll(int rows, int batchSize) {
+        List<Password> passwords = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            passwords.add(new Password("hash" + i, "owner" + i));
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<Password> saved = passwordRepository.saveAll(passwords);
+            entityManager.flush();
+            return saved;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.passwordgenerator.repository;
+
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.cache.SecondLevelCache;
+import com.example.passwordgenerator.dto.PasswordTagView;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Чтение по id и по тегу: напрямую из БД, через второй уровень кэша Hibernate и через кэш сервиса
+ * (PasswordCache). Запуск: {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({PasswordRepositoryTest.CountingConfig.class, SecondLevelCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int TAGS = 20;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private PasswordRepository passwordRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareCaches() {
+        List<Long> ids = seed();
+        PasswordCache passwordCache = new PasswordCache(new CacheRegionFactory(new StandardEnvironment()));
+
+        measure("findById, БД", ids, false, id -> passwordRepository.findById(id));
+        measure("findById, второй уровень Hibernate", ids, true,
+                id -> passwordRepository.findById(id));
+        measure("findById, кэш сервиса", ids, false,
+                id -> passwordCache.getPasswordById(id, () -> passwordRepository.findById(id).orElse(null)));
+
+        List<Long> tagNumbers = new ArrayList<>();
+        for (long i = 0; i < TAGS; i++) {
+            tagNumbers.add(i);
+        }
+        measure("по тегу, БД", tagNumbers, false,
+                i -> passwordRepository.findPasswordTagRowsByTagName("tag" + i));
+        measure("по тегу, кэш запросов Hibernate", tagNumbers, true,
+                i -> passwordRepository.findPasswordTagRowsByTagName("tag" + i));
+        measure("по тегу, кэш сервиса", tagNumbers, false,
+                i -> passwordCache.getPasswordsByTag("tag" + i, () -> PasswordTagView.fromRows(
+                        passwordRepository.findPasswordTagRowsByTagName("tag" + i))));
+    }
+
+    // Каждое чтение — отдельная транзакция, как запрос к контроллеру
+    private void measure(String label, List<Long> keys, boolean secondLevel, LongConsumer read) {
+        secondLevelCache.clear();
+        statementCounter.reset();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Long key : keys) {
+                transaction.executeWithoutResult(status -> {
+                    // Свойства сессии, а не CacheMode: findById передаёт свои подсказки и сбросил бы его
+                    entityManager.setProperty("jakarta.persistence.cache.retrieveMode",
+                            secondLevel ? CacheRetrieveMode.USE : CacheRetrieveMode.BYPASS);
+                    entityManager.setProperty("jakarta.persistence.cache.storeMode",
+                            secondLevel ? CacheStoreMode.USE : CacheStoreMode.BYPASS);
+                    read.accept(key);
+                });
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d чтений, обращений к БД %d, %d мс%n",
+                label, ROUNDS * keys.size(), statementCounter.getRoundTrips(), elapsedMs);
+    }
+
+    private List<Long> seed() {
+        tagRepository.deleteAll();
+        passwordRepository.deleteAll();
+        List<Password> passwords = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            passwords.add(new Password("hash" + i, "owner" + i));
+        }
+        List<Password> saved = passwordRepository.saveAll(passwords);
+        List<Tag> tags = new ArrayList<>(TAGS);
+        for (int i = 0; i < TAGS; i++) {
+            Tag tag = new Tag("tag" + i);
+            for (int j = i; j < ROWS; j += TAGS) {
+                tag.getPasswordEntries().add(saved.get(j));
+            }
+            tags.add(tag);
+        }
+        tagRepository.saveAll(tags);
+        return saved.stream().map(Password::getId).toList();
+    }
+}
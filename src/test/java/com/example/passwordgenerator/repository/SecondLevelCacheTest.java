@@ -0,0 +1,110 @@
+package com.example.passwordgenerator.repository;
+
+import com.example.passwordgenerator.cache.SecondLevelCache;
+import com.example.passwordgenerator.dto.SecondLevelCacheStats;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.entity.Tag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({PasswordRepositoryTest.CountingConfig.class, SecondLevelCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private PasswordRepository passwordRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Password password;
+
+    @BeforeEach
+    public void setUp() {
+        tagRepository.deleteAll();
+        passwordRepository.deleteAll();
+        secondLevelCache.clear();
+        password = passwordRepository.save(new Password("hash", "owner"));
+        Tag tag = new Tag("work");
+        tag.getPasswordEntries().add(password);
+        tagRepository.save(tag);
+        statementCounter.reset();
+    }
+
+    @Test
+    public void testEntityLoadedOnceAcrossTransactions() {
+        assertTrue(secondLevelCache.isEnabled());
+        inTransaction(() -> passwordRepository.findById(password.getId()));
+        statementCounter.reset();
+
+        Password cached = inTransaction(() -> passwordRepository.findById(password.getId()).orElseThrow());
+
+        assertEquals("owner", cached.getOwner());
+        assertEquals(0, statementCounter.getRoundTrips(), "Повторная загрузка должна идти из второго уровня");
+        SecondLevelCacheStats stats = secondLevelCache.getStats().stream()
+                .filter(region -> region.getRegion().equals(Password.CACHE_REGION))
+                .findFirst().orElseThrow();
+        assertTrue(stats.getHits() >= 1, "Попадание должно попасть в статистику региона");
+    }
+
+    @Test
+    public void testQueryCacheInvalidatedByWrite() {
+        inTransaction(() -> passwordRepository.findPasswordTagRowsByTagName("work"));
+        statementCounter.reset();
+        inTransaction(() -> passwordRepository.findPasswordTagRowsByTagName("work"));
+        assertEquals(0, statementCounter.getRoundTrips(),
+                "Результат запроса должен браться из кэша запросов");
+
+        password.setOwner("other");
+        passwordRepository.save(password);
+        statementCounter.reset();
+
+        List<?> rows = inTransaction(() -> passwordRepository.findPasswordTagRowsByTagName("work"));
+        assertTrue(statementCounter.getRoundTrips() >= 1,
+                "После записи в таблицу запрос должен выполниться заново");
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    public void testEvictPasswordsDropsEntity() {
+        inTransaction(() -> passwordRepository.findById(password.getId()));
+        secondLevelCache.evictPasswords(List.of(password.getId()));
+        statementCounter.reset();
+
+        inTransaction(() -> passwordRepository.findById(password.getId()));
+
+        assertEquals(1, statementCounter.getRoundTrips(), "После вытеснения сущность читается из БД");
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.passwordgenerator.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Считает обращения к БД: каждый вызов execute*, включая executeBatch, — один сетевой круг.
+ * Подключается в тестах как BeanPostProcessor, оборачивающий DataSource.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+                    "executeBatch", "executeLargeBatch");
+
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public void reset() {
+        roundTrips.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(ClassUtils.getAllInterfaces(bean), bean, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection
+                        ? proxy(new Class<?>[]{Connection.class}, result, this::connectionCall)
+                        : result;
+            });
+        }
+        return bean;
+    }
+
+    private Object connectionCall(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (result instanceof Statement) {
+            return proxy(new Class<?>[]{method.getReturnType()}, result, (statement, statementMethod, statementArgs) -> {
+                if (EXECUTE_METHODS.contains(statementMethod.getName())) {
+                    roundTrips.incrementAndGet();
+                }
+                return invoke(statement, statementMethod, statementArgs);
+            });
+        }
+        return result;
+    }
+
+    private static Object proxy(Class<?>[] interfaces, Object target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), interfaces, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.counter.CounterCheckpointer;
 import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.PasswordReservoir;
+import com.example.passwordgenerator.generator.SecureRandomEntropySource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 public class CounterServiceTest {
 
@@ -12,7 +17,11 @@ public class CounterServiceTest {
 
     @BeforeEach
     public void setUp() {
-        counterService = new CounterService();
+        SecureRandomEntropySource entropySource = new SecureRandomEntropySource("DRBG", "thread-local", 0, 256);
+        PasswordReservoir passwordReservoir =
+                new PasswordReservoir(new PasswordGeneratorEngine(entropySource), false, 256, 64, "", 1);
+        counterService = new CounterService(entropySource, passwordReservoir, mock(PersistenceJobService.class),
+                mock(CounterCheckpointer.class));
         RequestCounter.reset();
     }
 
@@ -0,0 +1,64 @@
+package com.example.passwordgenerator.service;
+
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
+import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.PasswordReservoir;
+import com.example.passwordgenerator.generator.SecureRandomEntropySource;
+import com.example.passwordgenerator.repository.PasswordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Сравнение последовательной и параллельной массовой генерации. Запуск: {@code mvn test -Pbenchmark}.
+ */
+public class PasswordServiceBulkBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Test
+    public void compareSequentialAndParallelBulk() {
+        List<PasswordGenerationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            requests.add(new PasswordGenerationRequest(16, 3, "owner" + i));
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long sequential = measure(createService(Integer.MAX_VALUE, 1), requests);
+        long parallel = measure(createService(1, cores), requests);
+
+        System.out.printf("generatePasswordsBulk(%d): последовательно %d мс, параллельно (%d потоков) %d мс,"
+                + " ускорение %.2fx%n", BATCH_SIZE, sequential, cores, parallel, (double) sequential / parallel);
+    }
+
+    private long measure(PasswordService service, List<PasswordGenerationRequest> requests) {
+        service.generatePasswordsBulk(requests.subList(0, 10));
+        long start = System.nanoTime();
+        service.generatePasswordsBulk(requests);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private PasswordService createService(int parallelThreshold, int parallelism) {
+        PasswordRepository repository = mock(PasswordRepository.class);
+        when(repository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PasswordGeneratorEngine engine =
+                new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256));
+        PasswordCache cache = new PasswordCache(new CacheRegionFactory(new StandardEnvironment()));
+        return new PasswordService(repository, cache, mock(ClusterInvalidationBus.class),
+                new BCryptPasswordEncoder(), engine,
+                new PasswordReservoir(engine, false, 256, 64, "", 1), new ForkJoinPool(parallelism),
+                parallelThreshold, 500);
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
 import com.example.passwordgenerator.cache.PasswordCache;
+import com.example.passwordgenerator.counter.RequestCounter;
+import com.example.passwordgenerator.dto.KeysetPage;
 import com.example.passwordgenerator.dto.PasswordGenerationRequest;
+import com.example.passwordgenerator.dto.PasswordTagRow;
+import com.example.passwordgenerator.dto.PasswordTagView;
 import com.example.passwordgenerator.entity.Password;
+import com.example.passwordgenerator.generator.PasswordGeneratorEngine;
+import com.example.passwordgenerator.generator.PasswordReservoir;
+import com.example.passwordgenerator.generator.SecureRandomEntropySource;
 import com.example.passwordgenerator.repository.PasswordRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 public class PasswordServiceTest {
@@ -24,22 +39,33 @@ public class PasswordServiceTest {
     @Mock
     private PasswordRepository passwordRepository;
 
-    @Mock
+    // Настоящий кэш: сервис загружает промахи через него
     private PasswordCache passwordCache;
 
+    @Mock
+    private ClusterInvalidationBus invalidationBus;
+
     private PasswordService passwordService;
 
+    private PasswordGeneratorEngine generatorEngine;
+
+    private PasswordReservoir passwordReservoir;
+
     private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        passwordService = new PasswordService(passwordRepository, passwordCache);
+        passwordCache = spy(new PasswordCache(new CacheRegionFactory(new StandardEnvironment())));
+        generatorEngine = new PasswordGeneratorEngine(new SecureRandomEntropySource("DRBG", "thread-local", 0, 256));
+        passwordReservoir = new PasswordReservoir(generatorEngine, false, 256, 64, "", 1);
+        passwordService = new PasswordService(passwordRepository, passwordCache, invalidationBus, passwordEncoder,
+                generatorEngine,
+                passwordReservoir, ForkJoinPool.commonPool(), 64, 2);
     }
 
     @Test
     public void checkPasswordGenerationForNumbersOnly() {
-        when(passwordCache.getGeneratedPassword("8_1_user1")).thenReturn(Optional.empty());
         String result = passwordService.generatePassword(8, 1, "user1");
         if (result == null) {
             fail("Пароль не должен быть null!");
@@ -57,7 +83,6 @@ public class PasswordServiceTest {
 
     @Test
     public void testGeneratePasswordSuccessComplexity2() {
-        when(passwordCache.getGeneratedPassword("8_2_user1")).thenReturn(Optional.empty());
         String password = passwordService.generatePassword(8, 2, "user1");
         if (password == null) {
             fail("Пароль не должен быть null!");
@@ -79,7 +104,6 @@ public class PasswordServiceTest {
 
     @Test
     public void testGeneratePasswordSuccessComplexity3() {
-        when(passwordCache.getGeneratedPassword("8_3_user1")).thenReturn(Optional.empty());
         String password = passwordService.generatePassword(8, 3, "user1");
         if (password == null) {
             fail("Пароль не должен быть null!");
@@ -100,11 +124,24 @@ public class PasswordServiceTest {
     }
 
     @Test
-    public void testGeneratePasswordCacheHit() {
-        when(passwordCache.getGeneratedPassword("8_2_user1")).thenReturn(Optional.of("cachedPass"));
-        String password = passwordService.generatePassword(8, 2, "user1");
-        if (!"cachedPass".equals(password)) {
-            fail("Ожидаемый пароль 'cachedPass', но получен '" + password + "'");
+    public void testGeneratePasswordIsNotReusedForSameArguments() {
+        String first = passwordService.generatePassword(16, 3, "user1");
+        String second = passwordService.generatePassword(16, 3, "user1");
+        assertNotEquals(first, second, "Повторный вызов с теми же параметрами должен выдать новый пароль");
+    }
+
+    @Test
+    public void testGeneratePasswordFromReservoirIsNotReused() {
+        PasswordReservoir reservoir = new PasswordReservoir(generatorEngine, true, 16, 4, "16:3", 1);
+        reservoir.start();
+        try {
+            passwordService = new PasswordService(passwordRepository, passwordCache, invalidationBus,
+                    passwordEncoder, generatorEngine, reservoir, ForkJoinPool.commonPool(), 64, 2);
+            String first = passwordService.generatePassword(16, 3, "user1");
+            String second = passwordService.generatePassword(16, 3, "user1");
+            assertNotEquals(first, second, "Пароли из резервуара не должны выдаваться повторно");
+        } finally {
+            reservoir.stop();
         }
     }
 
@@ -138,7 +175,6 @@ public class PasswordServiceTest {
                 new PasswordGenerationRequest(8, 2, "user1"),
                 new PasswordGenerationRequest(10, 3, "user2")
         );
-        when(passwordCache.getBulkPasswords(anyString())).thenReturn(Optional.empty());
         when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
         List<String> passwords = passwordService.generatePasswordsBulk(requests);
         if (passwords.size() != 2) {
@@ -152,21 +188,6 @@ public class PasswordServiceTest {
         }
     }
 
-    @Test
-    public void testGeneratePasswordsBulkCacheHit() {
-        List<PasswordGenerationRequest> requests = List.of(
-                new PasswordGenerationRequest(8, 2, "user1")
-        );
-        when(passwordCache.getBulkPasswords(anyString())).thenReturn(Optional.of(List.of("cachedPass")));
-        List<String> passwords = passwordService.generatePasswordsBulk(requests);
-        if (passwords.size() != 1) {
-            fail("Ожидается 1 пароль, но получено " + passwords.size());
-        }
-        if (!"cachedPass".equals(passwords.get(0))) {
-            fail("Ожидаемый пароль 'cachedPass', но получен '" + passwords.get(0) + "')");
-        }
-    }
-
     @Test
     public void testGeneratePasswordsEmptyRequest() {
         List<String> passwords = passwordService.generatePasswordsBulk(List.of());
@@ -190,7 +211,6 @@ public class PasswordServiceTest {
                 null,
                 new PasswordGenerationRequest(10, 3, "user2")
         );
-        when(passwordCache.getBulkPasswords(anyString())).thenReturn(Optional.empty());
         when(passwordRepository.save(any(Password.class))).thenAnswer(invitation -> invitation.getArgument(0));
         List<String> passwords = passwordService.generatePasswordsBulk(requests);
         if (passwords.size() != 2) {
@@ -233,6 +253,8 @@ public class PasswordServiceTest {
         if (!"user1".equals(updated.getOwner())) {
             fail("Неверный владелец: " + updated.getOwner());
         }
+        verify(passwordCache).evictPasswords(List.of(1L));
+        verify(passwordCache, never()).clearDatabaseCache();
     }
 
     @Test
@@ -240,11 +262,12 @@ public class PasswordServiceTest {
         doNothing().when(passwordRepository).deleteById(1L);
         passwordService.delete(1L);
         verify(passwordRepository, times(1)).deleteById(1L);
+        verify(passwordCache).evictPasswords(List.of(1L));
+        verify(invalidationBus).publishPasswords(List.of(1L));
     }
 
     @Test
     public void testFindByIdNotFound() {
-        when(passwordCache.getPasswordById(1L)).thenReturn(Optional.empty());
         when(passwordRepository.findById(1L)).thenReturn(Optional.empty());
         Optional<Password> result = passwordService.findById(1L);
         if (result.isPresent()) {
@@ -254,39 +277,135 @@ public class PasswordServiceTest {
 
     @Test
     public void testFindAllEmpty() {
-        when(passwordCache.getAllPasswords()).thenReturn(Optional.empty());
-        when(passwordRepository.findAll()).thenReturn(List.of());
-        List<Password> result = passwordService.findAll();
-        if (!result.isEmpty()) {
-            fail("Ожидается пустой список, ");
+        when(passwordRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(List.of());
+        KeysetPage<Password> result = passwordService.findAll(null, 50);
+        if (!result.getItems().isEmpty() || result.getNextCursor() != null) {
+            fail("Ожидается пустая последняя страница");
         }
     }
 
     @Test
     public void testFindPasswordsByTagNameEmpty() {
-        when(passwordCache.getPasswordsByTag("tag1")).thenReturn(Optional.empty());
-        when(passwordRepository.findPasswordsByTagName("tag1")).thenReturn(List.of());
-        List<Password> result = passwordService.findPasswordsByTagName("tag1");
+        when(passwordRepository.findPasswordTagRowsByTagName("tag1")).thenReturn(List.of());
+        List<PasswordTagView> result = passwordService.findPasswordsByTagName("tag1");
         if (!result.isEmpty()) {
             fail("Ожидается пустой список, но " + result.size() + " элементов");
         }
     }
 
     @Test
-    public void testGeneratePasswordsBulkCacheConsistency() {
-        List<PasswordGenerationRequest> requests = List.of(new PasswordGenerationRequest(8, 2, "user1"));
-        String cacheKey = "8_2_user1";
+    public void testFindPasswordsByTagNameGroupsRows() {
+        when(passwordRepository.findPasswordTagRowsByTagName("tag1")).thenReturn(List.of(
+                new PasswordTagRow(1L, "hash1", "user1", "tag1"),
+                new PasswordTagRow(1L, "hash1", "user1", "tag2"),
+                new PasswordTagRow(2L, "hash2", "user2", "tag1")));
+        List<PasswordTagView> result = passwordService.findPasswordsByTagName("tag1");
+        assertEquals(2, result.size(), "Строки одного пароля должны сворачиваться в одно представление");
+        assertEquals(List.of("tag1", "tag2"), result.get(0).getTags());
+        assertEquals(List.of("tag1"), result.get(1).getTags());
+        assertSame(result, passwordService.findPasswordsByTagName("tag1"), "Повторный запрос берётся из кэша");
+        verify(passwordRepository, times(1)).findPasswordTagRowsByTagName("tag1");
+    }
 
-        when(passwordCache.getGeneratedPassword("8_2_user1")).thenReturn(Optional.empty());
-        when(passwordCache.getBulkPasswords(cacheKey)).thenReturn(Optional.empty());
-        when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    public void testGeneratePasswordsBulkIsNotReusedForSameRequests() {
+        List<PasswordGenerationRequest> requests = List.of(new PasswordGenerationRequest(16, 3, "user1"));
 
         List<String> firstCall = passwordService.generatePasswordsBulk(requests);
-        assertNotNull(firstCall, "Первый вызов не должен возвращать null");
-        assertFalse(firstCall.isEmpty(), "Первый вызов должен вернуть непустой список");
-        when(passwordCache.getBulkPasswords(cacheKey)).thenReturn(Optional.of(firstCall));
-
         List<String> secondCall = passwordService.generatePasswordsBulk(requests);
-        assertEquals(firstCall, secondCall, "Пароли должны быть одинаковыми при повторном вызове");
+
+        assertEquals(1, firstCall.size());
+        assertEquals(1, secondCall.size());
+        assertNotEquals(firstCall, secondCall, "Повторный пакетный запрос должен выдать новые пароли");
+        verify(passwordRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratePasswordsBulkParallelKeepsOrder() {
+        passwordService = new PasswordService(passwordRepository, passwordCache, invalidationBus, passwordEncoder,
+                generatorEngine,
+                passwordReservoir, new ForkJoinPool(4), 1, 2);
+        List<PasswordGenerationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            requests.add(new PasswordGenerationRequest(4 + i % 27, 1 + i % 3, "user" + i));
+        }
+        when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<String> passwords = passwordService.generatePasswordsBulk(requests);
+
+        assertEquals(requests.size(), passwords.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).getLength(), passwords.get(i).length(),
+                    "Порядок паролей должен совпадать с порядком запросов");
+        }
+        verify(passwordRepository, times(1)).saveAll(argThat(saved -> ((List<Password>) saved).size() == 40));
+    }
+
+    @Test
+    public void testGeneratePasswordsBulkParallelPropagatesValidationError() {
+        passwordService = new PasswordService(passwordRepository, passwordCache, invalidationBus, passwordEncoder,
+                generatorEngine,
+                passwordReservoir, new ForkJoinPool(2), 1, 2);
+        List<PasswordGenerationRequest> requests = List.of(
+                new PasswordGenerationRequest(8, 2, "user1"),
+                new PasswordGenerationRequest(2, 2, "user2"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> passwordService.generatePasswordsBulk(requests));
+        assertEquals("Длина пароля должна быть от 4 до 30 символов.", e.getMessage());
+    }
+
+    @Test
+    public void testGeneratePasswordsStreamPersistsInBatches() {
+        List<PasswordGenerationRequest> requests = Arrays.asList(
+                new PasswordGenerationRequest(8, 1, "user1"),
+                new PasswordGenerationRequest(9, 2, "user2"),
+                null,
+                new PasswordGenerationRequest(10, 3, "user3"),
+                new PasswordGenerationRequest(11, 2, "user4"),
+                new PasswordGenerationRequest(12, 1, "user5"));
+        when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<String> streamed = new ArrayList<>();
+        passwordService.generatePasswordsStream(requests.iterator(), streamed::add);
+
+        assertEquals(5, streamed.size(), "null-элементы пропускаются");
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(8 + i, streamed.get(i).length());
+        }
+        verify(passwordRepository, times(3)).saveAll(anyList());
+        verify(passwordCache, times(3)).evictPasswords(anyList());
+    }
+
+    @Test
+    public void testGeneratePasswordsStreamPersistsDeliveredPasswordsOnError() {
+        List<PasswordGenerationRequest> requests = List.of(
+                new PasswordGenerationRequest(8, 1, "user1"),
+                new PasswordGenerationRequest(3, 1, "user2"));
+        when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<String> streamed = new ArrayList<>();
+        assertThrows(IllegalArgumentException.class,
+                () -> passwordService.generatePasswordsStream(requests.iterator(), streamed::add));
+
+        assertEquals(1, streamed.size());
+        verify(passwordRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    public void testGeneratePasswordsStreamCountsRequests() {
+        List<PasswordGenerationRequest> requests = Arrays.asList(
+                new PasswordGenerationRequest(8, 1, "user1"),
+                null,
+                new PasswordGenerationRequest(20, 3, "user2"));
+        when(passwordRepository.save(any(Password.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        RequestCounter.reset();
+
+        passwordService.generatePasswordsStream(requests.iterator(), password -> { });
+
+        assertEquals(2, RequestCounter.getCount(), "Каждый пароль потока должен учитываться в счётчике");
+        assertEquals(1, RequestCounter.getCount(RequestCounter.Endpoint.GENERATE_BULK, 0, 1));
+        assertEquals(1, RequestCounter.getCount(RequestCounter.Endpoint.GENERATE_BULK, 2, 2));
     }
-}
\ No newline at end of file
+}
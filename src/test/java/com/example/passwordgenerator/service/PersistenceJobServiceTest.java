@@ -0,0 +1,157 @@
+package com.example.passwordgenerator.service;
+
+import com.example.passwordgenerator.dto.PersistenceJobStatus;
+import com.example.passwordgenerator.dto.PersistenceQueueStats;
+import com.example.passwordgenerator.entity.Password;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class PersistenceJobServiceTest {
+
+    @Mock
+    private PasswordService passwordService;
+
+    private PersistenceJobService jobService;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(passwordService.create(any(Password.class))).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        when(passwordService.createBulk(anyList())).thenAnswer(invocation -> {
+            List<Password> chunk = invocation.getArgument(0);
+            List<Password> saved = new ArrayList<>();
+            chunk.forEach(password -> saved.add(withId(password)));
+            return saved;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCreateJobCompletes() throws InterruptedException {
+        jobService = new PersistenceJobService(passwordService, 1, 10, 100, 10, 5);
+        PersistenceJobStatus submitted = jobService.submitCreate(new Password("pass1", "user1"));
+
+        PersistenceJobStatus status = awaitFinished(submitted.getJobId());
+        assertEquals(PersistenceJobStatus.State.COMPLETED, status.getState());
+        assertEquals(List.of(1L), status.getIds());
+        assertEquals(1, status.getProcessed());
+        assertNotNull(status.getCompletedAt());
+    }
+
+    @Test
+    public void testBulkJobReportsIdsInOrderAcrossChunks() throws InterruptedException {
+        jobService = new PersistenceJobService(passwordService, 1, 10, 2, 10, 5);
+        List<Password> passwords = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            passwords.add(new Password("pass" + i, "user" + i));
+        }
+
+        PersistenceJobStatus status = awaitFinished(jobService.submitBulk(passwords).getJobId());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), status.getIds());
+        assertEquals(5, status.getTotal());
+        verify(passwordService, times(3)).createBulk(anyList());
+    }
+
+    @Test
+    public void testFailedJobKeepsError() throws InterruptedException {
+        when(passwordService.update(any(Password.class))).thenThrow(new IllegalStateException("db down"));
+        jobService = new PersistenceJobService(passwordService, 1, 10, 100, 10, 5);
+
+        PersistenceJobStatus status = awaitFinished(jobService.submitUpdate(new Password("p", "u")).getJobId());
+        assertEquals(PersistenceJobStatus.State.FAILED, status.getState());
+        assertEquals("db down", status.getError());
+        assertEquals(1, jobService.getStats().getFailed());
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordService.create(any(Password.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return withId(invocation.getArgument(0));
+        });
+        jobService = new PersistenceJobService(passwordService, 1, 1, 100, 10, 5);
+
+        jobService.submitCreate(new Password("p1", "u"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submitCreate(new Password("p2", "u"));
+        assertThrows(RejectedExecutionException.class, () -> jobService.submitCreate(new Password("p3", "u")));
+
+        PersistenceQueueStats stats = jobService.getStats();
+        assertEquals(1, stats.getQueueDepth());
+        assertEquals(1, stats.getRejected());
+        release.countDown();
+    }
+
+    @Test
+    public void testShutdownDrainsQueue() {
+        jobService = new PersistenceJobService(passwordService, 1, 100, 100, 100, 5);
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            jobIds.add(jobService.submitCreate(new Password("p" + i, "u")).getJobId());
+        }
+
+        jobService.shutdown();
+
+        for (String jobId : jobIds) {
+            assertEquals(PersistenceJobStatus.State.COMPLETED, jobService.getStatus(jobId).orElseThrow().getState());
+        }
+        assertEquals(20, jobService.getStats().getCompleted());
+    }
+
+    @Test
+    public void testFinishedJobsAreRetired() throws InterruptedException {
+        jobService = new PersistenceJobService(passwordService, 1, 10, 100, 2, 5);
+        String first = jobService.submitCreate(new Password("p1", "u")).getJobId();
+        awaitFinished(first);
+        awaitFinished(jobService.submitCreate(new Password("p2", "u")).getJobId());
+        awaitFinished(jobService.submitCreate(new Password("p3", "u")).getJobId());
+
+        assertTrue(jobService.getStatus(first).isEmpty(), "Старые задания должны удаляться");
+    }
+
+    private Password withId(Password password) {
+        password.setId(nextId.getAndIncrement());
+        return password;
+    }
+
+    private PersistenceJobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            PersistenceJobStatus status = jobService.getStatus(jobId).orElseThrow();
+            if (status.getState() == PersistenceJobStatus.State.COMPLETED
+                    || status.getState() == PersistenceJobStatus.State.FAILED) {
+                return status;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("Задание не завершилось за отведённое время");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
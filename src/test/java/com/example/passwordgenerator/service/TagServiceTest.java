@@ -1,6 +1,10 @@
 package com.example.passwordgenerator.service;
 
+import com.example.passwordgenerator.cache.CacheRegionFactory;
+import com.example.passwordgenerator.cache.ClusterInvalidationBus;
+import com.example.passwordgenerator.cache.PasswordCache;
 import com.example.passwordgenerator.cache.TagCache;
+import com.example.passwordgenerator.dto.KeysetPage;
 import com.example.passwordgenerator.entity.Tag;
 import com.example.passwordgenerator.repository.TagRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,52 +28,95 @@ public class TagServiceTest {
     @Mock
     private TagRepository tagRepository;
 
-    @Mock
     private TagCache tagCache;
 
+    @Mock
+    private PasswordCache passwordCache;
+
+    @Mock
+    private ClusterInvalidationBus invalidationBus;
+
     @InjectMocks
     private TagService tagService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        tagService = new TagService(tagRepository, tagCache);
+        tagCache = spy(new TagCache(new CacheRegionFactory(new StandardEnvironment())));
+        tagService = new TagService(tagRepository, tagCache, passwordCache, invalidationBus);
     }
 
     @Test
     public void testFindAll() {
         List<Tag> tags = Arrays.asList(new Tag("tag1"), new Tag("tag2"));
-        when(tagCache.getAllTags()).thenReturn(Optional.empty());
-        when(tagRepository.findAll()).thenReturn(tags);
-        List<Tag> result = tagService.findAll();
+        when(tagRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(tags);
+        KeysetPage<Tag> page = tagService.findAll(null, 50);
+        List<Tag> result = page.getItems();
+        if (page.getNextCursor() != null) {
+            fail("Последняя страница не должна иметь курсора");
+        }
         if (result.size() != 2) {
             fail("Ожидается 2 тега, но получено " + result.size());
         }
         if (!"tag1".equals(result.get(0).getName())) {
             fail("Неверное имя тега: " + result.get(0).getName());
         }
-        verify(tagCache).putAllTags(tags);
+        assertSame(page, tagCache.getPage(0L, 50).orElse(null), "Страница должна попасть в кэш");
     }
 
     @Test
     public void testFindAllFromCache() {
         List<Tag> tags = Arrays.asList(new Tag("tag1"), new Tag("tag2"));
-        when(tagCache.getAllTags()).thenReturn(Optional.of(tags));
-        List<Tag> result = tagService.findAll();
+        when(tagRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(tags);
+        tagService.findAll(null, 50);
+        List<Tag> result = tagService.findAll(null, 50).getItems();
         if (result.size() != 2) {
             fail("Ожидается 2 тега, но получено " + result.size());
         }
         if (!"tag1".equals(result.get(0).getName())) {
             fail("Неверное имя тега: " + result.get(0).getName());
         }
-        verify(tagRepository, never()).findAll();
+        verify(tagRepository, times(1)).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    public void testFindAllNextPage() {
+        Tag first = new Tag("tag1");
+        first.setId(1L);
+        Tag second = new Tag("tag2");
+        second.setId(2L);
+        when(tagRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, second));
+        KeysetPage<Tag> page = tagService.findAll(null, 1);
+        if (page.getItems().size() != 1 || page.getNextCursor() == null) {
+            fail("Ожидается один тег и курсор следующей страницы");
+        }
+        when(tagRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(2))).thenReturn(List.of(second));
+        KeysetPage<Tag> next = tagService.findAll(page.getNextCursor(), 1);
+        if (!"tag2".equals(next.getItems().get(0).getName()) || next.getNextCursor() != null) {
+            fail("Вторая страница должна содержать tag2 и быть последней");
+        }
+    }
+
+    @Test
+    public void testFindAllInvalidCursor() {
+        try {
+            tagService.findAll("не-курсор", 50);
+            fail("Ожидается IllegalArgumentException для повреждённого курсора");
+        } catch (IllegalArgumentException e) {
+            // Ожидаемое поведение
+        }
+        try {
+            tagService.findAll(null, 501);
+            fail("Ожидается IllegalArgumentException для слишком большой страницы");
+        } catch (IllegalArgumentException e) {
+            // Ожидаемое поведение
+        }
     }
 
     @Test
     public void testFindById() {
         Tag tag = new Tag("tag1");
         tag.setId(1L);
-        when(tagCache.getTagById(1L)).thenReturn(Optional.empty());
         when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
         Optional<Tag> result = tagService.findById(1L);
         if (!result.isPresent()) {
@@ -76,14 +125,15 @@ public class TagServiceTest {
         if (!"tag1".equals(result.get().getName())) {
             fail("Неверное имя тега: " + result.get().getName());
         }
-        verify(tagCache).putTagById(1L, tag);
+        assertSame(tag, tagCache.getTagById(1L).orElse(null), "Тег должен попасть в кэш");
     }
 
     @Test
     public void testFindByIdFromCache() {
         Tag tag = new Tag("tag1");
         tag.setId(1L);
-        when(tagCache.getTagById(1L)).thenReturn(Optional.of(tag));
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
+        tagService.findById(1L);
         Optional<Tag> result = tagService.findById(1L);
         if (!result.isPresent()) {
             fail("Тег должен быть найден!");
@@ -91,7 +141,7 @@ public class TagServiceTest {
         if (!"tag1".equals(result.get().getName())) {
             fail("Неверное имя тега: " + result.get().getName());
         }
-        verify(tagRepository, never()).findById(anyLong());
+        verify(tagRepository, times(1)).findById(anyLong());
     }
 
     @Test
@@ -109,11 +159,21 @@ public class TagServiceTest {
         if (saved.getId() != 1L) {
             fail("Неверный ID тега: " + saved.getId());
         }
-        verify(tagCache).clearCache();
+        verify(tagCache).evictTag(1L, "newTag");
+        verify(tagCache, never()).clearCache();
     }
 
     @Test
     public void testUpdate() {
+        Tag original = new Tag("oldTag");
+        original.setId(1L);
+        Tag other = new Tag("otherTag");
+        other.setId(2L);
+        when(tagRepository.findFirstByNameOrderByIdAsc("oldTag")).thenReturn(Optional.of(original));
+        when(tagRepository.findById(2L)).thenReturn(Optional.of(other));
+        tagService.findByName("oldTag");
+        tagService.findById(2L);
+
         Tag tag = new Tag("updatedTag");
         tag.setId(1L);
         when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -124,7 +184,11 @@ public class TagServiceTest {
         if (updated.getId() != 1L) {
             fail("Неверный ID тега: " + updated.getId());
         }
-        verify(tagCache).clearCache();
+        assertTrue(tagCache.getTagByName("oldTag").isEmpty(), "Запись под прежним именем должна быть вытеснена");
+        assertTrue(tagCache.getTagById(2L).isPresent(), "Другие теги должны остаться в кэше");
+        verify(passwordCache).evictTagLists();
+        verify(invalidationBus).publishTag(1L, "updatedTag");
+        verify(invalidationBus).publishTagLists();
     }
 
     @Test
@@ -132,6 +196,53 @@ public class TagServiceTest {
         doNothing().when(tagRepository).deleteById(1L);
         tagService.delete(1L);
         verify(tagRepository).deleteById(1L);
-        verify(tagCache).clearCache();
+        verify(tagCache).evictTag(1L, null);
+    }
+
+    @Test
+    public void testFindByNameServedFromCache() {
+        Tag tag = new Tag("work");
+        tag.setId(3L);
+        when(tagRepository.findFirstByNameOrderByIdAsc("work")).thenReturn(Optional.of(tag));
+        for (int i = 0; i < 3; i++) {
+            assertSame(tag, tagService.findByName("work").orElse(null));
+        }
+        verify(tagRepository, times(1)).findFirstByNameOrderByIdAsc("work");
+
+        when(tagRepository.findFirstByNameOrderByIdAsc("missing")).thenReturn(Optional.empty());
+        assertTrue(tagService.findByName("missing").isEmpty());
+    }
+
+    @Test
+    public void testFindByNameSeedsByIdRegion() {
+        Tag tag = new Tag("work");
+        tag.setId(3L);
+        when(tagRepository.findFirstByNameOrderByIdAsc("work")).thenReturn(Optional.of(tag));
+
+        tagService.findByName("work");
+        tagService.findByName("work");
+
+        assertSame(tag, tagService.findById(3L).orElse(null));
+        verify(tagRepository, never()).findById(3L);
+    }
+
+    @Test
+    public void testFindByNameAfterRenameDropsStaleIndexEntry() {
+        Tag original = new Tag("oldTag");
+        original.setId(1L);
+        Tag renamed = new Tag("newTag");
+        renamed.setId(1L);
+        when(tagRepository.findFirstByNameOrderByIdAsc("oldTag"))
+                .thenReturn(Optional.of(original))
+                .thenReturn(Optional.empty());
+        when(tagRepository.findById(1L)).thenReturn(Optional.of(renamed));
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        tagService.findByName("oldTag");
+
+        tagService.update(renamed);
+
+        assertTrue(tagService.findByName("oldTag").isEmpty(), "Под прежним именем тег больше не находится");
+        verify(tagRepository, times(2)).findFirstByNameOrderByIdAsc("oldTag");
+        verify(tagCache, never()).evictTag(anyLong(), eq("oldTag"));
     }
-}
\ No newline at end of file
+}